@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# Measures time from process launch to the first successful HTTP response.
+#
+#   scripts/startup-benchmark.sh [-n runs] [-u url] [-t timeout-seconds] -- <command to start the backend>
+#
+# Examples (from backend/, after `mvn -Paot package` and extracting as in the Dockerfile):
+#   scripts/startup-benchmark.sh -- java -jar target/ticketing-system-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod
+#   scripts/startup-benchmark.sh -- java -Dspring.aot.enabled=true -jar extracted/application.jar --spring.profiles.active=prod
+#   scripts/startup-benchmark.sh -- java -XX:SharedArchiveFile=extracted/application.jsa -Dspring.aot.enabled=true \
+#       -jar extracted/application.jar --spring.profiles.active=prod
+#   scripts/startup-benchmark.sh -- docker run --rm -p 8080:8080 --env-file backend.env ticketing-backend
+set -euo pipefail
+
+runs=5
+url="http://localhost:8080/actuator/health"
+timeout=120
+
+while getopts "n:u:t:" opt; do
+  case "$opt" in
+    n) runs="$OPTARG" ;;
+    u) url="$OPTARG" ;;
+    t) timeout="$OPTARG" ;;
+    *) echo "usage: $0 [-n runs] [-u url] [-t timeout-seconds] -- command..." >&2; exit 2 ;;
+  esac
+done
+shift $((OPTIND - 1))
+[[ "${1:-}" == "--" ]] && shift
+if [[ $# -eq 0 ]]; then
+  echo "usage: $0 [-n runs] [-u url] [-t timeout-seconds] -- command..." >&2
+  exit 2
+fi
+
+if curl -fsS -o /dev/null "$url" 2>/dev/null; then
+  echo "Something is already answering on $url; stop it first" >&2
+  exit 1
+fi
+
+log=$(mktemp)
+trap 'rm -f "$log"' EXIT
+results=()
+
+for run in $(seq 1 "$runs"); do
+  start=$(date +%s%N)
+  "$@" > "$log" 2>&1 &
+  pid=$!
+
+  ready=""
+  while [[ -z "$ready" ]]; do
+    if curl -fsS -o /dev/null --max-time 1 "$url" 2>/dev/null; then
+      ready=$(date +%s%N)
+    elif ! kill -0 "$pid" 2>/dev/null; then
+      echo "run $run: process exited before becoming ready, last log lines:" >&2
+      tail -20 "$log" >&2
+      exit 1
+    elif (( ($(date +%s%N) - start) / 1000000000 >= timeout )); then
+      echo "run $run: not ready after ${timeout}s" >&2
+      kill "$pid" 2>/dev/null || true
+      exit 1
+    else
+      sleep 0.05
+    fi
+  done
+
+  elapsed_ms=$(( (ready - start) / 1000000 ))
+  reported=$(grep -o 'Started [A-Za-z]* in [0-9.]* seconds' "$log" | grep -o '[0-9.]* seconds' || echo "n/a")
+  echo "run $run: first response after ${elapsed_ms} ms (context reported ${reported})"
+  results+=("$elapsed_ms")
+
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+echo "time to first response over ${runs} runs: min ${sorted[0]} ms, median ${sorted[$(( runs / 2 ))]} ms, max ${sorted[$(( runs - 1 ))]} ms"
@@ -0,0 +1,290 @@
+package com.ticketing.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@link LocalCache}s coherent across backend nodes through Postgres NOTIFY, without a broker.
+ * <p>
+ * Changes are queued after commit and sent in order by one sender thread. Each message carries
+ * the node id and a per-node sequence number. A listener thread holds its own connection with
+ * {@code LISTEN}. It applies other nodes' messages and flushes every cache when a sequence number
+ * is skipped or the connection has to be re-established, because messages may have been missed.
+ */
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectProvider<LocalCache> caches;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache-bus.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache-bus.channel:ticketing_cache}")
+    private String channel;
+
+    @Value("${app.cache-bus.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.cache-bus.poll-timeout-ms:10000}")
+    private int pollTimeoutMs;
+
+    @Value("${app.cache-bus.reconnect-initial-ms:500}")
+    private long reconnectInitialMs;
+
+    @Value("${app.cache-bus.reconnect-max-ms:30000}")
+    private long reconnectMaxMs;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicBoolean lost = new AtomicBoolean();
+    // Only touched by the listener thread
+    private final Map<String, Long> lastSequenceByNode = new HashMap<>();
+
+    private BlockingQueue<Message> outbox;
+    private volatile boolean running;
+    private volatile Connection listenerConnection;
+    private Thread sender;
+    private Thread listener;
+
+    private Counter published;
+    private Counter received;
+    private Counter gaps;
+    private Counter reconnects;
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Tells the other nodes that {@code key} changed, once the current transaction commits.
+     */
+    public void publish(CacheTopic topic, Object key) {
+        if (!running) {
+            return;
+        }
+        Message message = new Message(topic, String.valueOf(key));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(message);
+                }
+            });
+        } else {
+            enqueue(message);
+        }
+    }
+
+    private void enqueue(Message message) {
+        if (!outbox.offer(message)) {
+            // Receivers see the skipped sequence number and flush
+            lost.set(true);
+        }
+    }
+
+    @Override
+    public void start() {
+        String url = dataSourceProperties.determineUrl();
+        if (!enabled || url == null || !url.startsWith("jdbc:postgresql:")) {
+            logger.info("Cache invalidation bus disabled, caches are only coherent within this node");
+            return;
+        }
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid cache bus channel name: " + channel);
+        }
+
+        outbox = new ArrayBlockingQueue<>(queueCapacity);
+        published = Counter.builder("ticketing.cache.bus.messages").tag("direction", "published").register(meterRegistry);
+        received = Counter.builder("ticketing.cache.bus.messages").tag("direction", "received").register(meterRegistry);
+        gaps = Counter.builder("ticketing.cache.bus.flushes").tag("reason", "gap").register(meterRegistry);
+        reconnects = Counter.builder("ticketing.cache.bus.flushes").tag("reason", "reconnect").register(meterRegistry);
+        Gauge.builder("ticketing.cache.bus.queued", outbox, BlockingQueue::size).register(meterRegistry);
+
+        running = true;
+        sender = daemon("cache-bus-sender", this::sendLoop);
+        listener = daemon("cache-bus-listener", this::listenLoop);
+        logger.info("Cache invalidation bus started on channel {} as node {}", channel, nodeId);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        sender.interrupt();
+        listener.interrupt();
+        closeQuietly(listenerConnection);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void sendLoop() {
+        long sequence = 0;
+        while (running) {
+            Message message;
+            try {
+                message = outbox.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (message == null) {
+                continue;
+            }
+            if (lost.getAndSet(false)) {
+                sequence++;
+            }
+            sequence++;
+            try {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel,
+                        nodeId + ":" + sequence + ":" + message.topic() + ":" + message.key());
+                published.increment();
+            } catch (RuntimeException e) {
+                // The sequence number is spent, so receivers detect the loss and flush
+                logger.warn("Failed to publish cache invalidation {} {}: {}", message.topic(), message.key(), e.getMessage());
+            }
+        }
+    }
+
+    private void listenLoop() {
+        long backoff = reconnectInitialMs;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                lastSequenceByNode.clear();
+                if (connectedBefore) {
+                    reconnects.increment();
+                    flushAll("listener reconnected");
+                }
+                connectedBefore = true;
+                backoff = reconnectInitialMs;
+                receive(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Cache bus listener connection failed, retrying in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, reconnectMaxMs);
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+            if (notifications == null || notifications.length == 0) {
+                // Round trip so a half-open connection fails here instead of waiting forever
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                handle(notification.getParameter());
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4 || parts[0].equals(nodeId)) {
+            return;
+        }
+        received.increment();
+        long sequence = Long.parseLong(parts[1]);
+        Long previous = lastSequenceByNode.put(parts[0], sequence);
+        if (previous != null && sequence != previous + 1) {
+            gaps.increment();
+            flushAll("node " + parts[0] + " skipped from " + previous + " to " + sequence);
+        }
+
+        CacheTopic topic = CacheTopic.valueOf(parts[2]);
+        caches.orderedStream().forEach(cache -> {
+            try {
+                cache.onInvalidation(topic, parts[3]);
+            } catch (RuntimeException e) {
+                logger.warn("Cache {} failed to apply {} {}", cache.getClass().getSimpleName(), topic, parts[3], e);
+            }
+        });
+    }
+
+    private void flushAll(String reason) {
+        logger.info("Flushing local caches: {}", reason);
+        caches.orderedStream().forEach(cache -> {
+            try {
+                cache.flush();
+            } catch (RuntimeException e) {
+                logger.warn("Cache {} failed to flush", cache.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    private static Thread daemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // shutting down
+            }
+        }
+    }
+
+    private record Message(CacheTopic topic, String key) {}
+}
@@ -0,0 +1,8 @@
+package com.ticketing.cache;
+
+public enum CacheTopic {
+    USER,
+    TICKET,
+    TOKEN_REVOCATION,
+    RESOLUTION_DAY
+}
@@ -0,0 +1,16 @@
+package com.ticketing.cache;
+
+/**
+ * An in-process cache kept coherent across nodes by {@link CacheInvalidationBus}.
+ */
+public interface LocalCache {
+    /**
+     * Applies a change made on another node. Implementations ignore topics they do not cache.
+     */
+    void onInvalidation(CacheTopic topic, String key);
+
+    /**
+     * Drops or reloads everything, after this node may have missed invalidations.
+     */
+    void flush();
+}
@@ -0,0 +1,58 @@
+package com.ticketing.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One Hikari pool per {@link DataSourcePool}, all pointing at spring.datasource, so a slow report
+ * or a background job can exhaust only its own connections. Each pool reports hikaricp.* metrics
+ * tagged with its name (pending threads and connection timeouts show saturation).
+ */
+@Configuration
+public class DataSourceConfig {
+    @Autowired
+    private Environment environment;
+
+    @Bean
+    @Primary
+    public PoolRoutingDataSource dataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        Map<Object, Object> pools = new HashMap<>();
+        for (DataSourcePool pool : DataSourcePool.values()) {
+            pools.put(pool, createPool(pool, properties, meterRegistry));
+        }
+
+        PoolRoutingDataSource dataSource = new PoolRoutingDataSource();
+        dataSource.setTargetDataSources(pools);
+        dataSource.setDefaultTargetDataSource(pools.get(DataSourcePool.OLTP));
+        return dataSource;
+    }
+
+    // Pools start on first use, not here
+    private HikariDataSource createPool(DataSourcePool pool, DataSourceProperties properties, MeterRegistry meterRegistry) {
+        String prefix = "app.datasource.pools." + pool.propertyKey();
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(pool.propertyKey());
+        dataSource.setMaximumPoolSize(environment.getProperty(prefix + ".maximum-pool-size", Integer.class, 10));
+        dataSource.setMinimumIdle(environment.getProperty(prefix + ".minimum-idle", Integer.class, 0));
+        dataSource.setConnectionTimeout(environment.getProperty(prefix + ".connection-timeout-ms", Long.class, 30000L));
+        dataSource.setIdleTimeout(environment.getProperty(prefix + ".idle-timeout-ms", Long.class, 600000L));
+
+        long statementTimeout = environment.getProperty(prefix + ".statement-timeout-ms", Long.class, 0L);
+        if (statementTimeout > 0) {
+            dataSource.setConnectionInitSql("SET statement_timeout = " + statementTimeout);
+        }
+
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
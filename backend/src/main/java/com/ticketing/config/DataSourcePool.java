@@ -0,0 +1,11 @@
+package com.ticketing.config;
+
+public enum DataSourcePool {
+    OLTP,
+    REPORTING,
+    BACKGROUND;
+
+    public String propertyKey() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ticketing.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-session-in-view for every request except the ones listed here, which return no lazy associations
+ * and open a session per call. Under OSIV the first query of a request keeps its OLTP connection until
+ * the response is written, so a later {@link UsePool} call would run on that connection instead, and a
+ * request thread waiting on other threads' queries would hold a connection it is not using.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.jpa", name = "open-in-view", havingValue = "true", matchIfMissing = true)
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+    private static final String[] EXCLUDED_PATHS = {
+            // Reporting pool
+            "/api/admin/users",
+            "/api/admin/support-agents/roster",
+            // Fans out to TicketDetailService's executor
+            "/api/tickets/*/detail"
+    };
+
+    // Replaces Spring Boot's interceptor, which is registered for every path
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor()).excludePathPatterns(EXCLUDED_PATHS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ticketing.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+
+// Must run before the transaction interceptor, which acquires the connection
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PoolRoutingAspect {
+    private static final Logger logger = LoggerFactory.getLogger(PoolRoutingAspect.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Around("@annotation(com.ticketing.config.UsePool) || @within(com.ticketing.config.UsePool)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        DataSourcePool previous = PoolRoutingDataSource.currentPool();
+        DataSourcePool pool = resolvePool(joinPoint);
+        if (pool != null && effective(previous) != pool && holdsConnection()) {
+            logger.warn("{} asked for the {} pool but runs on the {} connection already held by this thread",
+                    joinPoint.getSignature().toShortString(), pool.propertyKey(), effective(previous).propertyKey());
+        }
+        PoolRoutingDataSource.setCurrentPool(pool);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PoolRoutingDataSource.setCurrentPool(previous);
+        }
+    }
+
+    // A session that already has its connection (an open transaction, or open-session-in-view after the
+    // first query) keeps using it, whatever the routing key says
+    private boolean holdsConnection() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+        return holder != null && holder.getEntityManager().unwrap(SessionImplementor.class)
+                .getJdbcCoordinator().getLogicalConnection().isPhysicallyConnected();
+    }
+
+    private static DataSourcePool effective(DataSourcePool pool) {
+        return pool != null ? pool : DataSourcePool.OLTP;
+    }
+
+    private static DataSourcePool resolvePool(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+
+        UsePool usePool = AnnotatedElementUtils.findMergedAnnotation(specificMethod, UsePool.class);
+        if (usePool == null) {
+            usePool = AnnotatedElementUtils.findMergedAnnotation(targetClass, UsePool.class);
+        }
+        return usePool != null ? usePool.value() : null;
+    }
+}
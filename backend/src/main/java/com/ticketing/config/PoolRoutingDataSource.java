@@ -0,0 +1,41 @@
+package com.ticketing.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+
+/**
+ * Hands out connections from the pool selected for the current thread by {@link UsePool},
+ * falling back to the OLTP pool.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final ThreadLocal<DataSourcePool> currentPool = new ThreadLocal<>();
+
+    static DataSourcePool currentPool() {
+        return currentPool.get();
+    }
+
+    static void setCurrentPool(DataSourcePool pool) {
+        if (pool == null) {
+            currentPool.remove();
+        } else {
+            currentPool.set(pool);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentPool.get();
+    }
+
+    @Override
+    public void close() {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ticketing.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+@Configuration
+public class StartupConfig {
+    // Mail is only needed once the first notification goes out, so it is not built during startup
+    @Bean
+    public static BeanFactoryPostProcessor lazyMailSender() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanNamesForType(JavaMailSender.class, true, false)) {
+                beanFactory.getBeanDefinition(name).setLazyInit(true);
+            }
+        };
+    }
+}
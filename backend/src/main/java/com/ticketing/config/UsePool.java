@@ -0,0 +1,17 @@
+package com.ticketing.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Runs the annotated method (or every method of the annotated class) on the given connection pool.
+ * The pool is chosen when the transaction opens its connection, so this only takes effect on the
+ * outermost transactional call; work joining an existing transaction stays on that transaction's pool,
+ * and so does work in an open-session-in-view request that has already queried (see
+ * {@link OpenEntityManagerInViewConfig}). The routing aspect logs a warning when that happens.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsePool {
+    DataSourcePool value();
+}
@@ -1,8 +1,12 @@
 package com.ticketing.controller;
 
+import com.ticketing.dto.AgentRosterEntry;
+import com.ticketing.dto.BulkUserRequest;
+import com.ticketing.dto.BulkUserResponse;
 import com.ticketing.dto.RegisterRequest;
 import com.ticketing.model.Role;
 import com.ticketing.model.User;
+import com.ticketing.service.BulkUserProvisioningService;
 import com.ticketing.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +28,9 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BulkUserProvisioningService bulkUserProvisioningService;
+
     @GetMapping("/users")
     public ResponseEntity<Page<User>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
@@ -57,6 +64,11 @@ public class AdminController {
         return ResponseEntity.ok(user);
     }
 
+    @PostMapping("/users/bulk")
+    public ResponseEntity<BulkUserResponse> createUsersInBulk(@Valid @RequestBody BulkUserRequest request) {
+        return ResponseEntity.ok(bulkUserProvisioningService.provision(request));
+    }
+
     @PutMapping("/users/{id}")
     public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody RegisterRequest updateRequest) {
         User user = userService.updateUser(id, updateRequest);
@@ -93,4 +105,11 @@ public class AdminController {
         List<User> agents = userService.getActiveSupportAgents();
         return ResponseEntity.ok(agents);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/support-agents/roster")
+    public ResponseEntity<List<AgentRosterEntry>> getSupportAgentRoster(
+            @RequestParam(defaultValue = "SUPPORT_AGENT") Role role) {
+        List<AgentRosterEntry> roster = userService.getAgentRoster(role);
+        return ResponseEntity.ok(roster);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ticketing.controller;
+
+import com.ticketing.dto.CsatSummary;
+import com.ticketing.dto.ResolutionStats;
+import com.ticketing.service.TicketAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@PreAuthorize("hasRole('ADMIN')")
+public class AnalyticsController {
+    @Autowired
+    private TicketAnalyticsService ticketAnalyticsService;
+
+    @GetMapping("/resolution-time")
+    public ResponseEntity<List<ResolutionStats>> getResolutionTime(
+            @RequestParam(defaultValue = "priority") String groupBy,
+            @RequestParam(defaultValue = "30") int days) {
+        
+        List<ResolutionStats> stats = groupBy.equalsIgnoreCase("agent")
+                ? ticketAnalyticsService.getResolutionStatsByAgent(days)
+                : ticketAnalyticsService.getResolutionStatsByPriority(days);
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/csat")
+    public ResponseEntity<List<CsatSummary>> getCsatByAgent(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(ticketAnalyticsService.getCsatByAgent(days));
+    }
+
+    @GetMapping("/csat/trend")
+    public ResponseEntity<List<CsatSummary>> getCsatTrend(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(ticketAnalyticsService.getCsatTrend(days));
+    }
+}
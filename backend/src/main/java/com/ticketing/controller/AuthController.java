@@ -3,9 +3,14 @@ package com.ticketing.controller;
 import com.ticketing.dto.JwtResponse;
 import com.ticketing.dto.LoginRequest;
 import com.ticketing.dto.RegisterRequest;
+import com.ticketing.dto.TokenRefreshRequest;
+import com.ticketing.dto.TokenRefreshResponse;
 import com.ticketing.model.User;
 import com.ticketing.security.JwtUtils;
+import com.ticketing.security.TokenRevocationList;
+import com.ticketing.service.RefreshTokenService;
 import com.ticketing.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +35,12 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    TokenRevocationList tokenRevocationList;
+
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -39,8 +50,10 @@ public class AuthController {
         String jwt = jwtUtils.generateJwtToken(authentication);
 
         User user = (User) authentication.getPrincipal();
+        String refreshToken = refreshTokenService.createRefreshToken(user);
         
         return ResponseEntity.ok(new JwtResponse(jwt,
+                refreshToken,
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
@@ -49,6 +62,30 @@ public class AuthController {
                 user.getRole()));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        String jwt = jwtUtils.generateTokenFromUsername(rotation.user().getUsername());
+
+        return ResponseEntity.ok(new TokenRefreshResponse(jwt, rotation.refreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logoutUser(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                        @RequestBody(required = false) TokenRefreshRequest request) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtUtils.parseValidClaims(authorization.substring(7));
+            if (claims != null) {
+                tokenRevocationList.revoke(claims.getId(), claims.getExpiration());
+            }
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revokeFamilyOf(request.getRefreshToken());
+        }
+
+        return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+    }
+
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest signUpRequest) {
         User user = userService.createUser(signUpRequest);
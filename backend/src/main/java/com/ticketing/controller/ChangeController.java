@@ -0,0 +1,27 @@
+package com.ticketing.controller;
+
+import com.ticketing.dto.ChangeFeedResponse;
+import com.ticketing.security.UserPrincipal;
+import com.ticketing.service.TicketChangeLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+    @Autowired
+    private TicketChangeLogService ticketChangeLogService;
+
+    @GetMapping
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
+        
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
+        ChangeFeedResponse feed = ticketChangeLogService.getChangesAfter(after, limit, currentUser);
+        return ResponseEntity.ok(feed);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ticketing.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Trims response bodies to the comma-separated {@code ?fields=} list, e.g. {@code fields=id,subject,creator.username}.
+ * Paged responses are trimmed per element of {@code content}; page metadata is kept as is. Only successful
+ * controller results are trimmed; error bodies from exception handlers are written whole.
+ */
+@RestControllerAdvice
+public class SparseFieldsetAdvice implements ResponseBodyAdvice<Object> {
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType)
+                && !returnType.hasMethodAnnotation(ExceptionHandler.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)
+                || !HttpStatusCode.valueOf(servletResponse.getServletResponse().getStatus()).is2xxSuccessful()) {
+            return body;
+        }
+        String fields = servletRequest.getServletRequest().getParameter("fields");
+        if (!StringUtils.hasText(fields)) {
+            return body;
+        }
+
+        FieldTree selection = FieldTree.parse(fields);
+        JsonNode tree = objectMapper.valueToTree(body);
+        if (tree.isObject() && tree.get("content") != null && tree.get("content").isArray()) {
+            prune(tree.get("content"), selection);
+        } else {
+            prune(tree, selection);
+        }
+        return tree;
+    }
+
+    private void prune(JsonNode node, FieldTree selection) {
+        if (node.isArray()) {
+            for (JsonNode element : (ArrayNode) node) {
+                prune(element, selection);
+            }
+        } else if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            for (Iterator<Map.Entry<String, JsonNode>> it = object.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                FieldTree child = selection.children.get(field.getKey());
+                if (child == null) {
+                    it.remove();
+                } else if (!child.children.isEmpty()) {
+                    prune(field.getValue(), child);
+                }
+            }
+        }
+    }
+
+    private static final class FieldTree {
+        private final Map<String, FieldTree> children = new HashMap<>();
+
+        static FieldTree parse(String fields) {
+            FieldTree root = new FieldTree();
+            for (String path : fields.split(",")) {
+                FieldTree current = root;
+                for (String part : path.trim().split("\\.")) {
+                    if (!part.isEmpty()) {
+                        current = current.children.computeIfAbsent(part, p -> new FieldTree());
+                    }
+                }
+            }
+            return root;
+        }
+    }
+}
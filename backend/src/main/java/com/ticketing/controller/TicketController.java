@@ -1,7 +1,12 @@
 package com.ticketing.controller;
 
+import com.ticketing.dto.DuplicateCandidate;
+import com.ticketing.dto.DuplicateLinkRequest;
+import com.ticketing.dto.TicketDetailResponse;
 import com.ticketing.dto.TicketRequest;
 import com.ticketing.model.*;
+import com.ticketing.security.UserPrincipal;
+import com.ticketing.service.TicketDetailService;
 import com.ticketing.service.TicketService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +19,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -22,9 +28,12 @@ public class TicketController {
     @Autowired
     private TicketService ticketService;
 
+    @Autowired
+    private TicketDetailService ticketDetailService;
+
     @PostMapping
     public ResponseEntity<?> createTicket(@Valid @RequestBody TicketRequest ticketRequest, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
         Ticket ticket = ticketService.createTicket(ticketRequest, currentUser);
         return ResponseEntity.ok(ticket);
     }
@@ -39,28 +48,26 @@ public class TicketController {
             @RequestParam(required = false) Priority priority,
             @RequestParam(required = false) Long assigneeId,
             @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             Authentication authentication) {
         
-        User currentUser = (User) authentication.getPrincipal();
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
+        String searchTerm = search != null ? search : "";
         
         Page<Ticket> tickets;
         
         if (currentUser.getRole() == Role.USER) {
             // Regular users can only see their own tickets
-            if (search != null && !search.isEmpty()) {
-                tickets = ticketService.filterTicketsForUser(currentUser, status, priority, search, pageable);
-            } else {
-                tickets = ticketService.filterTicketsForUser(currentUser, status, priority, "", pageable);
-            }
+            tickets = includeArchived
+                    ? ticketService.filterTicketsForUserIncludingArchived(currentUser, status, priority, searchTerm, pageable)
+                    : ticketService.filterTicketsForUser(currentUser, status, priority, searchTerm, pageable);
         } else {
             // Support agents and admins can see all tickets
-            if (search != null && !search.isEmpty()) {
-                tickets = ticketService.filterTickets(status, priority, assigneeId, search, pageable);
-            } else {
-                tickets = ticketService.filterTickets(status, priority, assigneeId, "", pageable);
-            }
+            tickets = includeArchived
+                    ? ticketService.filterTicketsIncludingArchived(status, priority, assigneeId, searchTerm, pageable)
+                    : ticketService.filterTickets(status, priority, assigneeId, searchTerm, pageable);
         }
         
         return ResponseEntity.ok(tickets);
@@ -68,27 +75,44 @@ public class TicketController {
 
     @GetMapping("/{id}")
     public ResponseEntity<Ticket> getTicketById(@PathVariable Long id, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
-        Ticket ticket = ticketService.getTicketById(id);
-        
-        if (!ticketService.canViewTicket(ticket, currentUser)) {
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
+        if (!ticketService.getAccess(id, currentUser).visible()) {
             return ResponseEntity.notFound().build();
         }
         
-        return ResponseEntity.ok(ticket);
+        return ResponseEntity.ok(ticketService.getTicketById(id));
+    }
+
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<TicketDetailResponse> getTicketDetail(@PathVariable Long id, Authentication authentication) {
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(ticketDetailService.getDetail(id, currentUser));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Ticket> updateTicket(@PathVariable Long id, @Valid @RequestBody TicketRequest ticketRequest, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
         Ticket ticket = ticketService.updateTicket(id, ticketRequest, currentUser);
         return ResponseEntity.ok(ticket);
     }
 
+    @GetMapping("/{id}/duplicates")
+    @PreAuthorize("hasRole('SUPPORT_AGENT') or hasRole('ADMIN')")
+    public ResponseEntity<List<DuplicateCandidate>> getDuplicateCandidates(@PathVariable Long id) {
+        return ResponseEntity.ok(ticketService.getDuplicateCandidates(id));
+    }
+
+    @PostMapping("/{id}/duplicates")
+    @PreAuthorize("hasRole('SUPPORT_AGENT') or hasRole('ADMIN')")
+    public ResponseEntity<List<Ticket>> linkDuplicates(@PathVariable Long id, @Valid @RequestBody DuplicateLinkRequest request, Authentication authentication) {
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(ticketService.linkDuplicates(id, request.getTicketIds(), currentUser));
+    }
+
     @PutMapping("/{id}/assign")
     @PreAuthorize("hasRole('SUPPORT_AGENT') or hasRole('ADMIN')")
     public ResponseEntity<Ticket> assignTicket(@PathVariable Long id, @RequestBody Map<String, Long> request, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
         Long assigneeId = request.get("assigneeId");
         Ticket ticket = ticketService.assignTicket(id, assigneeId, currentUser);
         return ResponseEntity.ok(ticket);
@@ -97,15 +121,15 @@ public class TicketController {
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('SUPPORT_AGENT') or hasRole('ADMIN')")
     public ResponseEntity<Ticket> updateTicketStatus(@PathVariable Long id, @RequestBody Map<String, TicketStatus> request, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
         TicketStatus status = request.get("status");
-        Ticket ticket = ticketService.updateTicketStatus(id, status, currentUser);
+        Ticket ticket = ticketService.updateTicketStatus(id, status, request.get("expectedStatus"), currentUser);
         return ResponseEntity.ok(ticket);
     }
 
     @PutMapping("/{id}/rate")
     public ResponseEntity<Ticket> rateTicket(@PathVariable Long id, @RequestBody Map<String, Object> request, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
         Integer rating = (Integer) request.get("rating");
         String feedback = (String) request.get("feedback");
         Ticket ticket = ticketService.rateTicket(id, rating, feedback, currentUser);
@@ -120,7 +144,7 @@ public class TicketController {
             @RequestParam(defaultValue = "desc") String sortDir,
             Authentication authentication) {
         
-        User currentUser = (User) authentication.getPrincipal();
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
@@ -137,7 +161,7 @@ public class TicketController {
             @RequestParam(defaultValue = "desc") String sortDir,
             Authentication authentication) {
         
-        User currentUser = (User) authentication.getPrincipal();
+        UserPrincipal currentUser = (UserPrincipal) authentication.getPrincipal();
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
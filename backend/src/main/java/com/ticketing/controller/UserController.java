@@ -0,0 +1,28 @@
+package com.ticketing.controller;
+
+import com.ticketing.dto.UserSuggestion;
+import com.ticketing.model.Role;
+import com.ticketing.service.UserTypeaheadIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@PreAuthorize("hasRole('SUPPORT_AGENT') or hasRole('ADMIN')")
+public class UserController {
+    @Autowired
+    private UserTypeaheadIndex userTypeaheadIndex;
+
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<UserSuggestion>> typeahead(
+            @RequestParam String q,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userTypeaheadIndex.search(q, role, enabled, limit));
+    }
+}
@@ -0,0 +1,71 @@
+package com.ticketing.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class AgentRosterEntry {
+    private Long id;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private long openTickets;
+    private long inProgressTickets;
+    private long ratedTickets;
+    private Double averageRating;
+    private LocalDateTime oldestOpenTicketCreatedAt;
+
+    public AgentRosterEntry(Long id, String username, String email, String firstName, String lastName,
+                            Long openTickets, Long inProgressTickets, Long ratedTickets, Double averageRating,
+                            LocalDateTime oldestOpenTicketCreatedAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.openTickets = openTickets != null ? openTickets : 0;
+        this.inProgressTickets = inProgressTickets != null ? inProgressTickets : 0;
+        this.ratedTickets = ratedTickets != null ? ratedTickets : 0;
+        this.averageRating = averageRating;
+        this.oldestOpenTicketCreatedAt = oldestOpenTicketCreatedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
+    public long getOpenTickets() { return openTickets; }
+    public void setOpenTickets(long openTickets) { this.openTickets = openTickets; }
+
+    public long getInProgressTickets() { return inProgressTickets; }
+    public void setInProgressTickets(long inProgressTickets) { this.inProgressTickets = inProgressTickets; }
+
+    public long getActiveTickets() { return openTickets + inProgressTickets; }
+
+    public long getRatedTickets() { return ratedTickets; }
+    public void setRatedTickets(long ratedTickets) { this.ratedTickets = ratedTickets; }
+
+    public Double getAverageRating() { return averageRating; }
+    public void setAverageRating(Double averageRating) { this.averageRating = averageRating; }
+
+    public LocalDateTime getOldestOpenTicketCreatedAt() { return oldestOpenTicketCreatedAt; }
+    public void setOldestOpenTicketCreatedAt(LocalDateTime oldestOpenTicketCreatedAt) { this.oldestOpenTicketCreatedAt = oldestOpenTicketCreatedAt; }
+
+    public Long getOldestOpenTicketAgeMinutes() {
+        return oldestOpenTicketCreatedAt != null
+                ? Duration.between(oldestOpenTicketCreatedAt, LocalDateTime.now()).toMinutes()
+                : null;
+    }
+}
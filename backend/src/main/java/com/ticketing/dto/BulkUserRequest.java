@@ -0,0 +1,19 @@
+package com.ticketing.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+// Rows are validated one by one so a bad row is reported instead of rejecting the whole batch
+public class BulkUserRequest {
+    @NotEmpty
+    private List<RegisterRequest> users;
+
+    private boolean sendWelcomeEmails = true;
+
+    public List<RegisterRequest> getUsers() { return users; }
+    public void setUsers(List<RegisterRequest> users) { this.users = users; }
+
+    public boolean isSendWelcomeEmails() { return sendWelcomeEmails; }
+    public void setSendWelcomeEmails(boolean sendWelcomeEmails) { this.sendWelcomeEmails = sendWelcomeEmails; }
+}
@@ -0,0 +1,5 @@
+package com.ticketing.dto;
+
+import java.util.List;
+
+public record BulkUserResponse(int created, int failed, List<BulkUserResult> results) {}
@@ -0,0 +1,15 @@
+package com.ticketing.dto;
+
+public record BulkUserResult(int row, String username, Long userId, String error) {
+    public static BulkUserResult created(int row, String username, Long userId) {
+        return new BulkUserResult(row, username, userId, null);
+    }
+
+    public static BulkUserResult failed(int row, String username, String error) {
+        return new BulkUserResult(row, username, null, error);
+    }
+
+    public boolean isCreated() {
+        return userId != null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.TicketChange;
+
+import java.util.List;
+
+public class ChangeFeedResponse {
+    private List<TicketChange> changes;
+    private Long nextAfter;
+    private boolean hasMore;
+
+    public ChangeFeedResponse(List<TicketChange> changes, Long nextAfter, boolean hasMore) {
+        this.changes = changes;
+        this.nextAfter = nextAfter;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<TicketChange> getChanges() { return changes; }
+    public void setChanges(List<TicketChange> changes) { this.changes = changes; }
+
+    public Long getNextAfter() { return nextAfter; }
+    public void setNextAfter(Long nextAfter) { this.nextAfter = nextAfter; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,28 @@
+package com.ticketing.dto;
+
+public class CsatSummary {
+    private String group;
+    private long ratings;
+    private double averageRating;
+    private double satisfiedPercent;
+
+    public CsatSummary(String group, long ratings, double averageRating, double satisfiedPercent) {
+        this.group = group;
+        this.ratings = ratings;
+        this.averageRating = averageRating;
+        this.satisfiedPercent = satisfiedPercent;
+    }
+
+    // Getters and Setters
+    public String getGroup() { return group; }
+    public void setGroup(String group) { this.group = group; }
+
+    public long getRatings() { return ratings; }
+    public void setRatings(long ratings) { this.ratings = ratings; }
+
+    public double getAverageRating() { return averageRating; }
+    public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+
+    public double getSatisfiedPercent() { return satisfiedPercent; }
+    public void setSatisfiedPercent(double satisfiedPercent) { this.satisfiedPercent = satisfiedPercent; }
+}
@@ -0,0 +1,3 @@
+package com.ticketing.dto;
+
+public record DuplicateCandidate(Long ticketId, String subject, double similarity) {}
@@ -0,0 +1,15 @@
+package com.ticketing.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class DuplicateLinkRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<Long> ticketIds;
+
+    public List<Long> getTicketIds() { return ticketIds; }
+    public void setTicketIds(List<Long> ticketIds) { this.ticketIds = ticketIds; }
+}
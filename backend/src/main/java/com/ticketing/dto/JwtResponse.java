@@ -4,6 +4,7 @@ import com.ticketing.model.Role;
 
 public class JwtResponse {
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private Long id;
     private String username;
@@ -12,8 +13,9 @@ public class JwtResponse {
     private String lastName;
     private Role role;
 
-    public JwtResponse(String accessToken, Long id, String username, String email, String firstName, String lastName, Role role) {
+    public JwtResponse(String accessToken, String refreshToken, Long id, String username, String email, String firstName, String lastName, Role role) {
         this.token = accessToken;
+        this.refreshToken = refreshToken;
         this.id = id;
         this.username = username;
         this.email = email;
@@ -26,6 +28,9 @@ public class JwtResponse {
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
 
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+
     public String getType() { return type; }
     public void setType(String type) { this.type = type; }
 
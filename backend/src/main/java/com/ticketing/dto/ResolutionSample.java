@@ -0,0 +1,8 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Priority;
+
+import java.time.LocalDateTime;
+
+public record ResolutionSample(Long assigneeId, Priority priority, LocalDateTime createdAt,
+                               LocalDateTime resolvedAt, Integer rating) {}
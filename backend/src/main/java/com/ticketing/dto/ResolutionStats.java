@@ -0,0 +1,38 @@
+package com.ticketing.dto;
+
+public class ResolutionStats {
+    private String group;
+    private long count;
+    private long p50Minutes;
+    private long p90Minutes;
+    private long p99Minutes;
+    private double meanMinutes;
+
+    public ResolutionStats(String group, long count, long p50Minutes, long p90Minutes, long p99Minutes, double meanMinutes) {
+        this.group = group;
+        this.count = count;
+        this.p50Minutes = p50Minutes;
+        this.p90Minutes = p90Minutes;
+        this.p99Minutes = p99Minutes;
+        this.meanMinutes = meanMinutes;
+    }
+
+    // Getters and Setters
+    public String getGroup() { return group; }
+    public void setGroup(String group) { this.group = group; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public long getP50Minutes() { return p50Minutes; }
+    public void setP50Minutes(long p50Minutes) { this.p50Minutes = p50Minutes; }
+
+    public long getP90Minutes() { return p90Minutes; }
+    public void setP90Minutes(long p90Minutes) { this.p90Minutes = p90Minutes; }
+
+    public long getP99Minutes() { return p99Minutes; }
+    public void setP99Minutes(long p99Minutes) { this.p99Minutes = p99Minutes; }
+
+    public double getMeanMinutes() { return meanMinutes; }
+    public void setMeanMinutes(double meanMinutes) { this.meanMinutes = meanMinutes; }
+}
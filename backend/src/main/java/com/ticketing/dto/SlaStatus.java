@@ -0,0 +1,32 @@
+package com.ticketing.dto;
+
+import java.time.LocalDateTime;
+
+public class SlaStatus {
+    public enum State { ON_TRACK, AT_RISK, BREACHED, MET, MISSED }
+
+    private State state;
+    private long targetHours;
+    private LocalDateTime dueAt;
+    private long minutesRemaining;
+
+    public SlaStatus(State state, long targetHours, LocalDateTime dueAt, long minutesRemaining) {
+        this.state = state;
+        this.targetHours = targetHours;
+        this.dueAt = dueAt;
+        this.minutesRemaining = minutesRemaining;
+    }
+
+    // Getters and Setters
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public long getTargetHours() { return targetHours; }
+    public void setTargetHours(long targetHours) { this.targetHours = targetHours; }
+
+    public LocalDateTime getDueAt() { return dueAt; }
+    public void setDueAt(LocalDateTime dueAt) { this.dueAt = dueAt; }
+
+    public long getMinutesRemaining() { return minutesRemaining; }
+    public void setMinutesRemaining(long minutesRemaining) { this.minutesRemaining = minutesRemaining; }
+}
@@ -0,0 +1,6 @@
+package com.ticketing.dto;
+
+/**
+ * Whether a ticket exists, where it lives and whether a given user may see it, read without loading the ticket.
+ */
+public record TicketAccess(Long id, Long creatorId, boolean archived, boolean visible) {}
@@ -0,0 +1,40 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Attachment;
+import com.ticketing.model.Comment;
+import com.ticketing.model.Ticket;
+
+import java.util.List;
+
+public class TicketDetailResponse {
+    private Ticket ticket;
+    private List<Comment> comments;
+    private boolean hasMoreComments;
+    private List<Attachment> attachments;
+    private SlaStatus sla;
+
+    public TicketDetailResponse(Ticket ticket, List<Comment> comments, boolean hasMoreComments,
+                                List<Attachment> attachments, SlaStatus sla) {
+        this.ticket = ticket;
+        this.comments = comments;
+        this.hasMoreComments = hasMoreComments;
+        this.attachments = attachments;
+        this.sla = sla;
+    }
+
+    // Getters and Setters
+    public Ticket getTicket() { return ticket; }
+    public void setTicket(Ticket ticket) { this.ticket = ticket; }
+
+    public List<Comment> getComments() { return comments; }
+    public void setComments(List<Comment> comments) { this.comments = comments; }
+
+    public boolean isHasMoreComments() { return hasMoreComments; }
+    public void setHasMoreComments(boolean hasMoreComments) { this.hasMoreComments = hasMoreComments; }
+
+    public List<Attachment> getAttachments() { return attachments; }
+    public void setAttachments(List<Attachment> attachments) { this.attachments = attachments; }
+
+    public SlaStatus getSla() { return sla; }
+    public void setSla(SlaStatus sla) { this.sla = sla; }
+}
@@ -0,0 +1,5 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.TicketStatus;
+
+public record TicketStatusView(Long id, TicketStatus status, Long assigneeId) {}
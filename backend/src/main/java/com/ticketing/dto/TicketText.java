@@ -0,0 +1,3 @@
+package com.ticketing.dto;
+
+public record TicketText(Long id, Long creatorId, String subject, String description) {}
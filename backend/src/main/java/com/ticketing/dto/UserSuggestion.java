@@ -0,0 +1,6 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Role;
+
+public record UserSuggestion(Long id, String username, String email, String firstName, String lastName,
+                             Role role, boolean enabled) {}
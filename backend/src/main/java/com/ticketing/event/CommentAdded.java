@@ -0,0 +1,3 @@
+package com.ticketing.event;
+
+public record CommentAdded(Long ticketId, Long commentId, Long authorId) implements DomainEvent {}
@@ -0,0 +1,9 @@
+package com.ticketing.event;
+
+/**
+ * Something that happened to a ticket, published once the transaction that did it has committed.
+ * Events carry ids rather than entities; consumers load what they need.
+ */
+public sealed interface DomainEvent permits TicketCreated, TicketAssigned, StatusChanged, CommentAdded {
+    Long ticketId();
+}
@@ -0,0 +1,248 @@
+package com.ticketing.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dispatches {@link DomainEvent}s to every {@link DomainEventConsumer} through a preallocated ring.
+ * <p>
+ * Publishers claim the next sequence number with a CAS, store the event in its slot and mark the
+ * slot with that sequence. Each consumer has its own thread and read sequence, and takes every
+ * contiguous published slot as one batch. A publisher may not claim a slot that the slowest consumer
+ * has not read yet: it waits up to {@code app.events.publish-timeout-ms} and then drops the event,
+ * so a stuck consumer cannot stall requests indefinitely.
+ */
+@Component
+public class DomainEventBus implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBus.class);
+
+    @Autowired
+    private ObjectProvider<DomainEventConsumer> consumers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.events.ring-size:8192}")
+    private int ringSize;
+
+    @Value("${app.events.max-batch:256}")
+    private int maxBatch;
+
+    @Value("${app.events.publish-timeout-ms:100}")
+    private long publishTimeoutMs;
+
+    @Value("${app.events.drain-timeout-ms:5000}")
+    private long drainTimeoutMs;
+
+    private DomainEvent[] entries;
+    // Sequence last published into each slot; a slot is readable once it holds the expected sequence
+    private AtomicLongArray available;
+    private int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile List<Worker> workers = List.of();
+    private volatile long cachedMinimumRead = -1;
+    private volatile boolean running;
+
+    private Counter published;
+    private Counter waits;
+    private Counter dropped;
+
+    @PostConstruct
+    void init() {
+        int size = Integer.highestOneBit(Math.max(2, ringSize) * 2 - 1);
+        entries = new DomainEvent[size];
+        available = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            available.set(i, -1);
+        }
+        mask = size - 1;
+        published = Counter.builder("ticketing.events.published").register(meterRegistry);
+        waits = Counter.builder("ticketing.events.publish.waits").register(meterRegistry);
+        dropped = Counter.builder("ticketing.events.dropped").register(meterRegistry);
+    }
+
+    /**
+     * Publishes {@code event} once the current transaction commits, or right away without one.
+     */
+    public void publish(DomainEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    private void dispatch(DomainEvent event) {
+        long deadline = 0;
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            if (next - entries.length > cachedMinimumRead) {
+                long minimum = minimumRead(current);
+                cachedMinimumRead = minimum;
+                if (next - entries.length > minimum) {
+                    if (deadline == 0) {
+                        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(publishTimeoutMs);
+                        waits.increment();
+                    } else if (System.nanoTime() - deadline > 0) {
+                        dropped.increment();
+                        logger.warn("Event ring full, dropped {}", event);
+                        return;
+                    }
+                    LockSupport.parkNanos(50_000);
+                    continue;
+                }
+            }
+            if (claimed.compareAndSet(current, next)) {
+                int index = (int) (next & mask);
+                entries[index] = event;
+                available.set(index, next);
+                published.increment();
+                return;
+            }
+        }
+    }
+
+    private long minimumRead(long fallback) {
+        long minimum = fallback;
+        for (Worker worker : workers) {
+            minimum = Math.min(minimum, worker.read.get());
+        }
+        return minimum;
+    }
+
+    @Override
+    public void start() {
+        List<Worker> started = new ArrayList<>();
+        consumers.orderedStream().forEach(consumer -> {
+            Worker worker = new Worker(consumer);
+            Gauge.builder("ticketing.events.lag", () -> claimed.get() - worker.read.get())
+                    .tag("consumer", consumer.name()).register(meterRegistry);
+            started.add(worker);
+        });
+        workers = List.copyOf(started);
+        running = true;
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+        logger.info("Domain event bus started with {} slots and consumers {}", entries.length,
+                workers.stream().map(worker -> worker.consumer.name()).toList());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long undelivered = claimed.get() - worker.read.get();
+            if (undelivered > 0) {
+                logger.warn("Consumer {} stopped with {} undelivered events", worker.consumer.name(), undelivered);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before and stop after the web server, so requests in flight can still publish
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    private final class Worker implements Runnable {
+        private final DomainEventConsumer consumer;
+        private final AtomicLong read = new AtomicLong(-1);
+        private final Thread thread;
+        private final Timer batchTimer;
+        private final DistributionSummary batchSize;
+        private final Counter failures;
+
+        Worker(DomainEventConsumer consumer) {
+            this.consumer = consumer;
+            this.thread = new Thread(this, "events-" + consumer.name());
+            this.thread.setDaemon(true);
+            this.batchTimer = Timer.builder("ticketing.events.batch").tag("consumer", consumer.name()).register(meterRegistry);
+            this.batchSize = DistributionSummary.builder("ticketing.events.batch.size").tag("consumer", consumer.name()).register(meterRegistry);
+            this.failures = Counter.builder("ticketing.events.failures").tag("consumer", consumer.name()).register(meterRegistry);
+        }
+
+        @Override
+        public void run() {
+            List<DomainEvent> batch = new ArrayList<>(maxBatch);
+            List<DomainEvent> view = Collections.unmodifiableList(batch);
+            int idle = 0;
+            while (true) {
+                long next = read.get() + 1;
+                while (batch.size() < maxBatch) {
+                    long sequence = next + batch.size();
+                    int index = (int) (sequence & mask);
+                    if (available.get(index) != sequence) {
+                        break;
+                    }
+                    batch.add(entries[index]);
+                }
+
+                if (batch.isEmpty()) {
+                    if (!running) {
+                        return;
+                    }
+                    if (++idle < 100) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(1_000_000);
+                    }
+                    continue;
+                }
+
+                idle = 0;
+                long started = System.nanoTime();
+                // Errors too: a thread that dies here never advances its read sequence and fills the ring
+                try {
+                    consumer.onEvents(view);
+                } catch (Throwable e) {
+                    failures.increment();
+                    logger.error("Consumer {} failed on a batch of {} events", consumer.name(), batch.size(), e);
+                }
+                batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                batchSize.record(batch.size());
+                read.set(next + batch.size() - 1);
+                batch.clear();
+            }
+        }
+    }
+}
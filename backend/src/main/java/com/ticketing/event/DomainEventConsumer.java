@@ -0,0 +1,13 @@
+package com.ticketing.event;
+
+import java.util.List;
+
+/**
+ * Receives every {@link DomainEvent} in publish order on its own thread, in batches of whatever has
+ * accumulated since the previous call. A slow consumer only delays itself, until the ring is full.
+ */
+public interface DomainEventConsumer {
+    String name();
+
+    void onEvents(List<DomainEvent> events);
+}
@@ -0,0 +1,5 @@
+package com.ticketing.event;
+
+import com.ticketing.model.TicketStatus;
+
+public record StatusChanged(Long ticketId, TicketStatus from, TicketStatus to, Long actorId) implements DomainEvent {}
@@ -0,0 +1,3 @@
+package com.ticketing.event;
+
+public record TicketAssigned(Long ticketId, Long previousAssigneeId, Long assigneeId, Long actorId) implements DomainEvent {}
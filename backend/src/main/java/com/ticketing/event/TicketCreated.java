@@ -0,0 +1,3 @@
+package com.ticketing.event;
+
+public record TicketCreated(Long ticketId, Long creatorId) implements DomainEvent {}
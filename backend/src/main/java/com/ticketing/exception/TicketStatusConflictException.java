@@ -0,0 +1,7 @@
+package com.ticketing.exception;
+
+public class TicketStatusConflictException extends RuntimeException {
+    public TicketStatusConflictException(String message) {
+        super(message);
+    }
+}
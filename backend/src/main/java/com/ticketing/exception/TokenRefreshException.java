@@ -0,0 +1,7 @@
+package com.ticketing.exception;
+
+public class TokenRefreshException extends RuntimeException {
+    public TokenRefreshException(String message) {
+        super(message);
+    }
+}
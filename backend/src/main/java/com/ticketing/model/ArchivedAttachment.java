@@ -0,0 +1,49 @@
+package com.ticketing.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "archived_attachments", indexes = {
+        @Index(name = "idx_archived_attachments_ticket_id", columnList = "ticket_id")
+})
+public class ArchivedAttachment {
+    @Id
+    private Long id;
+
+    private String fileName;
+
+    private String filePath;
+
+    private String contentType;
+
+    private Long fileSize;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "uploaded_by", nullable = false)
+    private User uploadedBy;
+
+    @Column(name = "uploaded_at")
+    private LocalDateTime uploadedAt;
+
+    public Attachment toAttachment(Ticket ticket) {
+        Attachment attachment = new Attachment(fileName, filePath, contentType, fileSize, ticket, uploadedBy);
+        attachment.setId(id);
+        attachment.setUploadedAt(uploadedAt);
+        return attachment;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getFileName() { return fileName; }
+    public String getFilePath() { return filePath; }
+    public String getContentType() { return contentType; }
+    public Long getFileSize() { return fileSize; }
+    public Long getTicketId() { return ticketId; }
+    public User getUploadedBy() { return uploadedBy; }
+    public LocalDateTime getUploadedAt() { return uploadedAt; }
+}
@@ -0,0 +1,46 @@
+package com.ticketing.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "archived_comments", indexes = {
+        @Index(name = "idx_archived_comments_ticket_id", columnList = "ticket_id")
+})
+public class ArchivedComment {
+    @Id
+    private Long id;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "author_id", nullable = false)
+    private User author;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Comment toComment(Ticket ticket) {
+        Comment comment = new Comment(content, ticket, author);
+        comment.setId(id);
+        comment.setCreatedAt(createdAt);
+        comment.setUpdatedAt(updatedAt);
+        return comment;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getContent() { return content; }
+    public Long getTicketId() { return ticketId; }
+    public User getAuthor() { return author; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
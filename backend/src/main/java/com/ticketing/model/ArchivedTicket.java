@@ -0,0 +1,108 @@
+package com.ticketing.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "archived_tickets", indexes = {
+        @Index(name = "idx_archived_tickets_creator_id", columnList = "creator_id"),
+        @Index(name = "idx_archived_tickets_assignee_id", columnList = "assignee_id"),
+        @Index(name = "idx_archived_tickets_closed_at", columnList = "closed_at")
+})
+public class ArchivedTicket {
+    @Id
+    private Long id;
+
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TicketStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "creator_id", nullable = false)
+    private User creator;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignee_id")
+    private User assignee;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    private Integer rating;
+
+    @Column(columnDefinition = "TEXT")
+    private String feedback;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    @Column(name = "comment_count", nullable = false)
+    private int commentCount;
+
+    @Column(name = "last_activity_at", nullable = false)
+    private LocalDateTime lastActivityAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_commenter_id")
+    private User lastCommenter;
+
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
+    // Archived rows are only written by TicketArchiveService via INSERT ... SELECT
+    public Ticket toTicket() {
+        Ticket ticket = new Ticket(subject, description, priority, creator);
+        ticket.setId(id);
+        ticket.setStatus(status);
+        ticket.setAssignee(assignee);
+        ticket.setCreatedAt(createdAt);
+        ticket.setUpdatedAt(updatedAt);
+        ticket.setResolvedAt(resolvedAt);
+        ticket.setClosedAt(closedAt);
+        ticket.setRating(rating);
+        ticket.setFeedback(feedback);
+        ticket.setCommentCount(commentCount);
+        ticket.setLastActivityAt(lastActivityAt);
+        ticket.setLastCommenter(lastCommenter);
+        ticket.setDuplicateOfId(duplicateOfId);
+        ticket.setArchived(true);
+        return ticket;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getSubject() { return subject; }
+    public String getDescription() { return description; }
+    public TicketStatus getStatus() { return status; }
+    public Priority getPriority() { return priority; }
+    public User getCreator() { return creator; }
+    public User getAssignee() { return assignee; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getResolvedAt() { return resolvedAt; }
+    public LocalDateTime getClosedAt() { return closedAt; }
+    public Integer getRating() { return rating; }
+    public String getFeedback() { return feedback; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public int getCommentCount() { return commentCount; }
+    public LocalDateTime getLastActivityAt() { return lastActivityAt; }
+    public User getLastCommenter() { return lastCommenter; }
+    public Long getDuplicateOfId() { return duplicateOfId; }
+}
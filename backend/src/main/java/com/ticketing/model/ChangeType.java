@@ -0,0 +1,12 @@
+package com.ticketing.model;
+
+public enum ChangeType {
+    TICKET_CREATED,
+    TICKET_UPDATED,
+    TICKET_ASSIGNED,
+    STATUS_CHANGED,
+    TICKET_RATED,
+    COMMENT_ADDED,
+    COMMENT_UPDATED,
+    COMMENT_DELETED
+}
@@ -1,7 +1,9 @@
 package com.ticketing.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.Hibernate;
 
 import java.time.LocalDateTime;
 
@@ -16,6 +18,7 @@ public class Comment {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ticket_id", nullable = false)
     private Ticket ticket;
@@ -50,6 +53,18 @@ public class Comment {
         this.author = author;
     }
 
+    /**
+     * A copy outside any persistence context, for handing one load to several threads. The author must
+     * already be fetched; the ticket stays a reference and is not serialized.
+     */
+    public Comment snapshot() {
+        Comment copy = new Comment(content, ticket, Hibernate.unproxy(author, User.class));
+        copy.id = id;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
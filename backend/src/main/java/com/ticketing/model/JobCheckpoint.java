@@ -0,0 +1,92 @@
+package com.ticketing.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "job_checkpoints")
+@IdClass(JobCheckpoint.Key.class)
+public class JobCheckpoint {
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Id
+    private int shard;
+
+    // Last id handled by a run that has not finished the shard yet; 0 once the shard is complete
+    private long position;
+
+    @Column(name = "items_processed")
+    private long itemsProcessed;
+
+    @Column(name = "node_name", length = 100)
+    private String nodeName;
+
+    @Column(name = "last_started_at")
+    private LocalDateTime lastStartedAt;
+
+    @Column(name = "last_completed_at")
+    private LocalDateTime lastCompletedAt;
+
+    @Column(name = "last_duration_ms")
+    private Long lastDurationMs;
+
+    // Constructors
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String jobName, int shard) {
+        this.jobName = jobName;
+        this.shard = shard;
+    }
+
+    // Getters and Setters
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public int getShard() { return shard; }
+    public void setShard(int shard) { this.shard = shard; }
+
+    public long getPosition() { return position; }
+    public void setPosition(long position) { this.position = position; }
+
+    public long getItemsProcessed() { return itemsProcessed; }
+    public void setItemsProcessed(long itemsProcessed) { this.itemsProcessed = itemsProcessed; }
+
+    public String getNodeName() { return nodeName; }
+    public void setNodeName(String nodeName) { this.nodeName = nodeName; }
+
+    public LocalDateTime getLastStartedAt() { return lastStartedAt; }
+    public void setLastStartedAt(LocalDateTime lastStartedAt) { this.lastStartedAt = lastStartedAt; }
+
+    public LocalDateTime getLastCompletedAt() { return lastCompletedAt; }
+    public void setLastCompletedAt(LocalDateTime lastCompletedAt) { this.lastCompletedAt = lastCompletedAt; }
+
+    public Long getLastDurationMs() { return lastDurationMs; }
+    public void setLastDurationMs(Long lastDurationMs) { this.lastDurationMs = lastDurationMs; }
+
+    public static class Key implements Serializable {
+        private String jobName;
+        private int shard;
+
+        public Key() {}
+
+        public Key(String jobName, int shard) {
+            this.jobName = jobName;
+            this.shard = shard;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && shard == key.shard && Objects.equals(jobName, key.jobName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(jobName, shard);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.ticketing.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ticketing.dto.DuplicateCandidate;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -10,6 +14,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "tickets")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Ticket {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,7 +28,9 @@ public class Ticket {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // Status and its timestamps only change through TicketRepository.transitionStatus
     @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
     private TicketStatus status = TicketStatus.OPEN;
 
     @Enumerated(EnumType.STRING)
@@ -37,9 +44,11 @@ public class Ticket {
     @JoinColumn(name = "assignee_id")
     private User assignee;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Comment> comments = new ArrayList<>();
 
+    @JsonIgnore
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Attachment> attachments = new ArrayList<>();
 
@@ -49,10 +58,10 @@ public class Ticket {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @Column(name = "resolved_at")
+    @Column(name = "resolved_at", updatable = false)
     private LocalDateTime resolvedAt;
 
-    @Column(name = "closed_at")
+    @Column(name = "closed_at", updatable = false)
     private LocalDateTime closedAt;
 
     private Integer rating;
@@ -60,21 +69,38 @@ public class Ticket {
     @Column(columnDefinition = "TEXT")
     private String feedback;
 
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
+    // Comment activity, only changed by the atomic updates in CommentService so a stale entity cannot overwrite it
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private int commentCount;
+
+    @Column(name = "last_activity_at", nullable = false, updatable = false)
+    private LocalDateTime lastActivityAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_commenter_id", updatable = false)
+    private User lastCommenter;
+
+    @Transient
+    private boolean archived;
+
+    // Only filled in on the response to ticket creation
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<DuplicateCandidate> duplicateCandidates;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        lastActivityAt = createdAt;
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        if (status == TicketStatus.RESOLVED && resolvedAt == null) {
-            resolvedAt = LocalDateTime.now();
-        }
-        if (status == TicketStatus.CLOSED && closedAt == null) {
-            closedAt = LocalDateTime.now();
-        }
     }
 
     // Constructors
@@ -87,6 +113,29 @@ public class Ticket {
         this.creator = creator;
     }
 
+    /**
+     * A copy outside any persistence context, for handing one load to several threads. The people must
+     * already be fetched; users have no lazy state of their own.
+     */
+    public Ticket snapshot() {
+        Ticket copy = new Ticket(subject, description, priority, creator);
+        copy.id = id;
+        copy.status = status;
+        copy.assignee = assignee;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.resolvedAt = resolvedAt;
+        copy.closedAt = closedAt;
+        copy.rating = rating;
+        copy.feedback = feedback;
+        copy.duplicateOfId = duplicateOfId;
+        copy.commentCount = commentCount;
+        copy.lastActivityAt = lastActivityAt;
+        copy.lastCommenter = lastCommenter;
+        copy.archived = archived;
+        return copy;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -132,4 +181,22 @@ public class Ticket {
 
     public String getFeedback() { return feedback; }
     public void setFeedback(String feedback) { this.feedback = feedback; }
+
+    public Long getDuplicateOfId() { return duplicateOfId; }
+    public void setDuplicateOfId(Long duplicateOfId) { this.duplicateOfId = duplicateOfId; }
+
+    public int getCommentCount() { return commentCount; }
+    public void setCommentCount(int commentCount) { this.commentCount = commentCount; }
+
+    public LocalDateTime getLastActivityAt() { return lastActivityAt; }
+    public void setLastActivityAt(LocalDateTime lastActivityAt) { this.lastActivityAt = lastActivityAt; }
+
+    public User getLastCommenter() { return lastCommenter; }
+    public void setLastCommenter(User lastCommenter) { this.lastCommenter = lastCommenter; }
+
+    public boolean isArchived() { return archived; }
+    public void setArchived(boolean archived) { this.archived = archived; }
+
+    public List<DuplicateCandidate> getDuplicateCandidates() { return duplicateCandidates; }
+    public void setDuplicateCandidates(List<DuplicateCandidate> duplicateCandidates) { this.duplicateCandidates = duplicateCandidates; }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.ticketing.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ticket_changes", indexes = {
+        @Index(name = "idx_ticket_changes_creator_seq", columnList = "ticket_creator_id, id"),
+        @Index(name = "idx_ticket_changes_ticket_seq", columnList = "ticket_id, id")
+})
+public class TicketChange {
+    // Monotonic sequence number that clients tail with /api/changes?after=<seq>
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ChangeType type;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    // Denormalized so a user's feed is one index range scan without joining tickets
+    @Column(name = "ticket_creator_id", nullable = false)
+    private Long ticketCreatorId;
+
+    @Column(name = "comment_id")
+    private Long commentId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(columnDefinition = "TEXT")
+    private String details;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public TicketChange() {}
+
+    public TicketChange(ChangeType type, Long ticketId, Long ticketCreatorId, Long commentId, Long actorId, String details) {
+        this.type = type;
+        this.ticketId = ticketId;
+        this.ticketCreatorId = ticketCreatorId;
+        this.commentId = commentId;
+        this.actorId = actorId;
+        this.details = details;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public ChangeType getType() { return type; }
+    public Long getTicketId() { return ticketId; }
+    public Long getTicketCreatorId() { return ticketCreatorId; }
+    public Long getCommentId() { return commentId; }
+    public Long getActorId() { return actorId; }
+
+    @JsonRawValue
+    public String getDetails() { return details; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -4,5 +4,15 @@ public enum TicketStatus {
     OPEN,
     IN_PROGRESS,
     RESOLVED,
-    CLOSED
-}
\ No newline at end of file
+    CLOSED;
+
+    // Resolved and closed tickets are reopened to IN_PROGRESS
+    public boolean canTransitionTo(TicketStatus target) {
+        return switch (this) {
+            case OPEN -> target == IN_PROGRESS || target == RESOLVED || target == CLOSED;
+            case IN_PROGRESS -> target == RESOLVED || target == CLOSED;
+            case RESOLVED -> target == CLOSED || target == IN_PROGRESS;
+            case CLOSED -> target == IN_PROGRESS;
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.ticketing.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes SQL statements and JDBC time to the Spring Data repository method that issued them.
+ * Statements triggered later by lazy loading are charged to the request, not to the repository.
+ */
+@Aspect
+@Component
+public class RepositorySqlAspect {
+    @Autowired
+    private SqlMonitor sqlMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, RepositoryMeters> meters = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        long statementsBefore = sqlMonitor.statementCount();
+        long nanosBefore = sqlMonitor.sqlNanos();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RepositoryMeters repositoryMeters = meters.computeIfAbsent(
+                    repositoryName(joinPoint) + "." + joinPoint.getSignature().getName(), this::register);
+            repositoryMeters.statements.record(sqlMonitor.statementCount() - statementsBefore);
+            repositoryMeters.time.record(sqlMonitor.sqlNanos() - nanosBefore, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        return interfaces.length > 0 ? interfaces[0].getSimpleName() : joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    private RepositoryMeters register(String key) {
+        int separator = key.lastIndexOf('.');
+        String repository = key.substring(0, separator);
+        String method = key.substring(separator + 1);
+        return new RepositoryMeters(
+                DistributionSummary.builder("ticketing.sql.repository.statements")
+                        .tag("repository", repository).tag("method", method)
+                        .register(meterRegistry),
+                Timer.builder("ticketing.sql.repository.time")
+                        .tag("repository", repository).tag("method", method)
+                        .register(meterRegistry));
+    }
+
+    private record RepositoryMeters(DistributionSummary statements, Timer time) {}
+}
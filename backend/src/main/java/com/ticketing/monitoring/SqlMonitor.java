@@ -0,0 +1,94 @@
+package com.ticketing.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts statements and JDBC time on the executing thread. Running totals are always kept
+ * (they are two longs) so repository calls can be measured anywhere; per-statement detail is
+ * only collected while a request scope opened by {@link SqlRequestFilter} is active.
+ */
+@Component
+public class SqlMonitor implements QueryExecutionListener {
+    private final ThreadLocal<ThreadTotals> totals = ThreadLocal.withInitial(ThreadTotals::new);
+    private final ThreadLocal<RequestSqlStats> requestStats = new ThreadLocal<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        totals.get().startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        ThreadTotals current = totals.get();
+        long nanos = System.nanoTime() - current.startedAt;
+        current.statements++;
+        current.nanos += nanos;
+
+        RequestSqlStats stats = requestStats.get();
+        if (stats != null) {
+            stats.record(queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery(), nanos);
+        }
+    }
+
+    public long statementCount() {
+        return totals.get().statements;
+    }
+
+    public long sqlNanos() {
+        return totals.get().nanos;
+    }
+
+    RequestSqlStats beginRequest() {
+        RequestSqlStats stats = new RequestSqlStats();
+        requestStats.set(stats);
+        return stats;
+    }
+
+    void endRequest() {
+        requestStats.remove();
+    }
+
+    private static final class ThreadTotals {
+        private long statements;
+        private long nanos;
+        private long startedAt;
+    }
+
+    static final class RequestSqlStats {
+        private final Map<String, Integer> executionsBySql = new HashMap<>();
+        private int statements;
+        private long nanos;
+
+        void record(String sql, long elapsedNanos) {
+            statements++;
+            nanos += elapsedNanos;
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+
+        int statements() {
+            return statements;
+        }
+
+        long nanos() {
+            return nanos;
+        }
+
+        // Same SQL text with different bind values, i.e. a lazy load or query issued in a loop
+        Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> most = null;
+            for (Map.Entry<String, Integer> entry : executionsBySql.entrySet()) {
+                if (most == null || entry.getValue() > most.getValue()) {
+                    most = entry;
+                }
+            }
+            return most;
+        }
+    }
+}
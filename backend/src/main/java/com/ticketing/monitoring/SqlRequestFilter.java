@@ -0,0 +1,120 @@
+package com.ticketing.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request SQL accounting. Runs ahead of the security chain so the statements issued while
+ * authenticating count towards the request. Requests over the statement budget, or repeating
+ * the same statement, are logged and counted; outside production the totals are also returned
+ * as X-SQL-* response headers.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlRequestFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(SqlRequestFilter.class);
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String REPEATED_HEADER = "X-SQL-Max-Repeated";
+
+    @Autowired
+    private SqlMonitor sqlMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.sql-monitor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql-monitor.statement-budget:15}")
+    private int statementBudget;
+
+    @Value("${app.sql-monitor.repeated-threshold:3}")
+    private int repeatedThreshold;
+
+    @Value("${app.sql-monitor.debug-headers:false}")
+    private boolean debugHeaders;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlMonitor.RequestSqlStats stats = sqlMonitor.beginRequest();
+        ContentCachingResponseWrapper wrapper = debugHeaders ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            sqlMonitor.endRequest();
+            report(request, stats);
+            if (wrapper != null) {
+                // Body is buffered, so headers can still be added after the handler has written it
+                Map.Entry<String, Integer> repeated = stats.mostRepeated();
+                wrapper.setHeader(STATEMENTS_HEADER, String.valueOf(stats.statements()));
+                wrapper.setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.nanos())));
+                wrapper.setHeader(REPEATED_HEADER, String.valueOf(repeated != null ? repeated.getValue() : 0));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlMonitor.RequestSqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("ticketing.sql.request.statements")
+                .tag("method", method).tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("ticketing.sql.request.time")
+                .tag("method", method).tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() > statementBudget) {
+            Counter.builder("ticketing.sql.request.flagged")
+                    .tag("method", method).tag("uri", uri).tag("reason", "budget")
+                    .register(meterRegistry).increment();
+            logger.warn("{} {} executed {} SQL statements (budget {})", method, request.getRequestURI(),
+                    stats.statements(), statementBudget);
+        }
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatedThreshold) {
+            Counter.builder("ticketing.sql.request.flagged")
+                    .tag("method", method).tag("uri", uri).tag("reason", "repeated")
+                    .register(meterRegistry).increment();
+            logger.warn("{} {} executed the same statement {} times, likely an N+1: {}", method, request.getRequestURI(),
+                    repeated.getValue(), abbreviate(repeated.getKey()));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() > 300 ? sql.substring(0, 300) + "..." : sql;
+    }
+}
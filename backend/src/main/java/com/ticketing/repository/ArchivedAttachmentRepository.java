@@ -0,0 +1,14 @@
+package com.ticketing.repository;
+
+import com.ticketing.model.ArchivedAttachment;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedAttachmentRepository extends JpaRepository<ArchivedAttachment, Long> {
+    @EntityGraph(attributePaths = "uploadedBy")
+    List<ArchivedAttachment> findByTicketIdOrderByUploadedAtAsc(Long ticketId);
+}
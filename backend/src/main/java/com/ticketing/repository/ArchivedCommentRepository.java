@@ -0,0 +1,18 @@
+package com.ticketing.repository;
+
+import com.ticketing.model.ArchivedComment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+    @EntityGraph(attributePaths = "author")
+    List<ArchivedComment> findByTicketIdOrderByCreatedAtAsc(Long ticketId);
+
+    @EntityGraph(attributePaths = "author")
+    List<ArchivedComment> findByTicketIdOrderByCreatedAtAscIdAsc(Long ticketId, Pageable pageable);
+}
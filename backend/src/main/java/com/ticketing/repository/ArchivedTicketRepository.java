@@ -0,0 +1,100 @@
+package com.ticketing.repository;
+
+import com.ticketing.dto.TicketAccess;
+import com.ticketing.model.ArchivedTicket;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.TicketStatus;
+import com.ticketing.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, Long> {
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
+    Optional<ArchivedTicket> findWithPeopleById(Long id);
+
+    default Optional<TicketAccess> findAccess(Long id, Long userId, Role role) {
+        return findAccess(id, userId, role == Role.ADMIN);
+    }
+
+    @Query("SELECT new com.ticketing.dto.TicketAccess(t.id, t.creator.id, true, " +
+           "CASE WHEN :admin = true OR t.creator.id = :userId OR t.assignee.id = :userId " +
+           "THEN true ELSE false END) FROM ArchivedTicket t WHERE t.id = :id")
+    Optional<TicketAccess> findAccess(@Param("id") Long id, @Param("userId") Long userId, @Param("admin") boolean admin);
+
+    @Query("SELECT t FROM ArchivedTicket t WHERE " +
+           "(:status IS NULL OR t.status = :status) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:assigneeId IS NULL OR t.assignee.id = :assigneeId) AND " +
+           "(LOWER(t.subject) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Page<ArchivedTicket> findByFilters(@Param("status") TicketStatus status,
+                                       @Param("priority") Priority priority,
+                                       @Param("assigneeId") Long assigneeId,
+                                       @Param("search") String search,
+                                       Pageable pageable);
+
+    @Query("SELECT t FROM ArchivedTicket t WHERE t.creator = :creator AND " +
+           "(:status IS NULL OR t.status = :status) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(LOWER(t.subject) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Page<ArchivedTicket> findByCreatorAndFilters(@Param("creator") User creator,
+                                                 @Param("status") TicketStatus status,
+                                                 @Param("priority") Priority priority,
+                                                 @Param("search") String search,
+                                                 Pageable pageable);
+
+    // Batch move of closed tickets in one shard, see TicketArchiveService. SKIP LOCKED lets several nodes archive concurrently.
+    @Query(value = "SELECT id FROM tickets WHERE status = 'CLOSED' AND closed_at < :cutoff " +
+                   "AND id > :afterId AND MOD(id, :shards) = :shard " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockArchivableTicketIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+                                       @Param("shards") int shards, @Param("shard") int shard, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO archived_tickets (id, subject, description, status, priority, creator_id, assignee_id, " +
+                   "created_at, updated_at, resolved_at, closed_at, rating, feedback, archived_at, " +
+                   "comment_count, last_activity_at, last_commenter_id, duplicate_of_id) " +
+                   "SELECT id, subject, description, status, priority, creator_id, assignee_id, " +
+                   "created_at, updated_at, resolved_at, closed_at, rating, feedback, NOW(), " +
+                   "comment_count, last_activity_at, last_commenter_id, duplicate_of_id " +
+                   "FROM tickets WHERE id IN (:ids)", nativeQuery = true)
+    int copyTickets(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO archived_comments (id, content, ticket_id, author_id, created_at, updated_at) " +
+                   "SELECT id, content, ticket_id, author_id, created_at, updated_at " +
+                   "FROM comments WHERE ticket_id IN (:ids)", nativeQuery = true)
+    int copyComments(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO archived_attachments (id, file_name, file_path, content_type, file_size, ticket_id, " +
+                   "uploaded_by, uploaded_at) " +
+                   "SELECT id, file_name, file_path, content_type, file_size, ticket_id, uploaded_by, uploaded_at " +
+                   "FROM attachments WHERE ticket_id IN (:ids)", nativeQuery = true)
+    int copyAttachments(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM comments WHERE ticket_id IN (:ids)", nativeQuery = true)
+    int deleteLiveComments(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM attachments WHERE ticket_id IN (:ids)", nativeQuery = true)
+    int deleteLiveAttachments(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tickets WHERE id IN (:ids)", nativeQuery = true)
+    int deleteLiveTickets(@Param("ids") List<Long> ids);
+}
@@ -2,6 +2,7 @@ package com.ticketing.repository;
 
 import com.ticketing.model.Attachment;
 import com.ticketing.model.Ticket;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +12,7 @@ import java.util.List;
 public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
     List<Attachment> findByTicket(Ticket ticket);
     List<Attachment> findByTicketId(Long ticketId);
+
+    @EntityGraph(attributePaths = "uploadedBy")
+    List<Attachment> findByTicketIdOrderByUploadedAtAsc(Long ticketId);
 }
\ No newline at end of file
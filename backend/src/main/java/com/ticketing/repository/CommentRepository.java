@@ -2,13 +2,26 @@ package com.ticketing.repository;
 
 import com.ticketing.model.Comment;
 import com.ticketing.model.Ticket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByTicketOrderByCreatedAtAsc(Ticket ticket);
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByTicketIdOrderByCreatedAtAsc(Long ticketId);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByTicketIdOrderByCreatedAtAscIdAsc(Long ticketId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author JOIN FETCH c.ticket t JOIN FETCH t.creator LEFT JOIN FETCH t.assignee " +
+           "WHERE c.id IN :ids")
+    List<Comment> findWithTicketAndPeopleByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
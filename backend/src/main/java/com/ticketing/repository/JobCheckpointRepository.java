@@ -0,0 +1,9 @@
+package com.ticketing.repository;
+
+import com.ticketing.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, JobCheckpoint.Key> {
+}
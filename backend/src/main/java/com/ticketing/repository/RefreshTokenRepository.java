@@ -0,0 +1,37 @@
+package com.ticketing.repository;
+
+import com.ticketing.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Compare-and-set, so of two concurrent rotations of the same token only one succeeds
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.id = :id AND r.revoked = false")
+    int markRotated(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    // Revoked tokens are kept until they expire so that their reuse is still detected
+    @Query(value = "SELECT id FROM refresh_tokens WHERE expires_at < :cutoff " +
+                   "AND id > :afterId AND MOD(id, :shards) = :shard ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+                              @Param("shards") int shards, @Param("shard") int shard, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,26 @@
+package com.ticketing.repository;
+
+import com.ticketing.model.TicketChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TicketChangeRepository extends JpaRepository<TicketChange, Long> {
+    @Query("SELECT c FROM TicketChange c WHERE c.id > :after AND c.createdAt < :settledBefore ORDER BY c.id ASC")
+    List<TicketChange> findAfter(@Param("after") Long after,
+                                 @Param("settledBefore") LocalDateTime settledBefore,
+                                 Pageable pageable);
+
+    @Query("SELECT c FROM TicketChange c WHERE c.ticketCreatorId = :creatorId AND c.id > :after " +
+           "AND c.createdAt < :settledBefore ORDER BY c.id ASC")
+    List<TicketChange> findAfterForCreator(@Param("creatorId") Long creatorId,
+                                           @Param("after") Long after,
+                                           @Param("settledBefore") LocalDateTime settledBefore,
+                                           Pageable pageable);
+}
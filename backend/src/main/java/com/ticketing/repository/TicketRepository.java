@@ -1,33 +1,58 @@
 package com.ticketing.repository;
 
+import com.ticketing.dto.ResolutionSample;
+import com.ticketing.dto.TicketAccess;
+import com.ticketing.dto.TicketStatusView;
+import com.ticketing.dto.TicketText;
 import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
 import com.ticketing.model.Ticket;
 import com.ticketing.model.TicketStatus;
 import com.ticketing.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
+    // List views render the creator, assignee and last commenter of every row
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
     Page<Ticket> findByCreator(User creator, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
+    Optional<Ticket> findWithPeopleById(Long id);
+
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
     Page<Ticket> findByAssignee(User assignee, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
     Page<Ticket> findByStatus(TicketStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
     Page<Ticket> findByPriority(Priority priority, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
     @Query("SELECT t FROM Ticket t WHERE t.creator = :user OR t.assignee = :user")
     Page<Ticket> findByCreatorOrAssignee(@Param("user") User user, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
     @Query("SELECT t FROM Ticket t WHERE " +
            "LOWER(t.subject) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Ticket> findBySearchTerm(@Param("search") String search, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
     @Query("SELECT t FROM Ticket t WHERE " +
            "(:status IS NULL OR t.status = :status) AND " +
            "(:priority IS NULL OR t.priority = :priority) AND " +
@@ -40,6 +65,7 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
                               @Param("search") String search,
                               Pageable pageable);
     
+    @EntityGraph(attributePaths = {"creator", "assignee", "lastCommenter"})
     @Query("SELECT t FROM Ticket t WHERE t.creator = :creator AND " +
            "(:status IS NULL OR t.status = :status) AND " +
            "(:priority IS NULL OR t.priority = :priority) AND " +
@@ -58,4 +84,71 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.assignee = :assignee AND t.status = :status")
     long countByAssigneeAndStatus(@Param("assignee") User assignee, @Param("status") TicketStatus status);
-}
\ No newline at end of file
+    
+    @Query("SELECT new com.ticketing.dto.ResolutionSample(a.id, t.priority, t.createdAt, t.resolvedAt, t.rating) " +
+           "FROM Ticket t LEFT JOIN t.assignee a WHERE t.resolvedAt >= :since")
+    Stream<ResolutionSample> streamResolvedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT new com.ticketing.dto.ResolutionSample(a.id, t.priority, t.createdAt, t.resolvedAt, t.rating) " +
+           "FROM Ticket t LEFT JOIN t.assignee a WHERE t.resolvedAt >= :from AND t.resolvedAt < :to")
+    Stream<ResolutionSample> streamResolvedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.ticketing.dto.TicketText(t.id, t.creator.id, t.subject, t.description) " +
+           "FROM Ticket t WHERE t.status IN :statuses AND t.duplicateOfId IS NULL")
+    Stream<TicketText> streamTextByStatusIn(@Param("statuses") Collection<TicketStatus> statuses);
+
+    @Query("SELECT new com.ticketing.dto.TicketText(t.id, t.creator.id, t.subject, t.description) " +
+           "FROM Ticket t WHERE t.id = :id AND t.status IN :statuses AND t.duplicateOfId IS NULL")
+    Optional<TicketText> findTextByIdAndStatusIn(@Param("id") Long id, @Param("statuses") Collection<TicketStatus> statuses);
+
+    @Query("SELECT new com.ticketing.dto.TicketStatusView(t.id, t.status, t.assignee.id) FROM Ticket t WHERE t.id = :id")
+    Optional<TicketStatusView> findStatusViewById(@Param("id") Long id);
+
+    // Admins, the creator and the assignee may see a ticket; decided in the same primary key lookup as existence
+    default Optional<TicketAccess> findAccess(Long id, Long userId, Role role) {
+        return findAccess(id, userId, role == Role.ADMIN);
+    }
+
+    @Query("SELECT new com.ticketing.dto.TicketAccess(t.id, t.creator.id, false, " +
+           "CASE WHEN :admin = true OR t.creator.id = :userId OR t.assignee.id = :userId " +
+           "THEN true ELSE false END) FROM Ticket t WHERE t.id = :id")
+    Optional<TicketAccess> findAccess(@Param("id") Long id, @Param("userId") Long userId, @Param("admin") boolean admin);
+
+    // Compare-and-set, so of two concurrent transitions from the same status only one applies; empty if it lost.
+    // Reopening clears the resolution and closing times, so they always describe the latest resolution.
+    // The ticket comes back from the updated row, so call it before loading the ticket: an entity already in
+    // the persistence context would be returned as it was.
+    @Query(value = "UPDATE tickets SET status = :to, updated_at = :now, " +
+                   "resolved_at = CASE WHEN :to = 'RESOLVED' THEN :now WHEN :to = 'IN_PROGRESS' THEN NULL ELSE resolved_at END, " +
+                   "closed_at = CASE WHEN :to = 'CLOSED' THEN :now WHEN :to = 'IN_PROGRESS' THEN NULL ELSE closed_at END " +
+                   "WHERE id = :id AND status = :from RETURNING *", nativeQuery = true)
+    Optional<Ticket> transitionStatus(@Param("id") Long id, @Param("from") String from, @Param("to") String to,
+                                      @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.ticketing.dto.ResolutionSample(a.id, t.priority, t.createdAt, t.resolvedAt, t.rating) " +
+           "FROM Ticket t LEFT JOIN t.assignee a WHERE t.id = :id")
+    Optional<ResolutionSample> findResolutionSampleById(@Param("id") Long id);
+
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.creator LEFT JOIN FETCH t.assignee WHERE t.id IN :ids")
+    List<Ticket> findWithPeopleByIdIn(@Param("ids") Collection<Long> ids);
+
+    // A comment that commits after a newer one still counts, but does not become the last activity
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE tickets SET comment_count = comment_count + 1, " +
+                   "last_commenter_id = CASE WHEN last_activity_at <= :at THEN :authorId ELSE last_commenter_id END, " +
+                   "last_activity_at = GREATEST(last_activity_at, :at) " +
+                   "WHERE id = :ticketId", nativeQuery = true)
+    int recordComment(@Param("ticketId") Long ticketId, @Param("authorId") Long authorId, @Param("at") LocalDateTime at);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE tickets SET comment_count = GREATEST(comment_count - 1, 0), " +
+                   "last_commenter_id = (SELECT c.author_id FROM comments c WHERE c.ticket_id = :ticketId " +
+                   "                     ORDER BY c.created_at DESC, c.id DESC LIMIT 1), " +
+                   "last_activity_at = COALESCE((SELECT MAX(c.created_at) FROM comments c WHERE c.ticket_id = :ticketId), created_at) " +
+                   "WHERE id = :ticketId", nativeQuery = true)
+    int recordCommentDeleted(@Param("ticketId") Long ticketId);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.duplicateOfId = :primaryId WHERE t.duplicateOfId = :duplicateId")
+    int repointDuplicates(@Param("duplicateId") Long duplicateId, @Param("primaryId") Long primaryId);
+}
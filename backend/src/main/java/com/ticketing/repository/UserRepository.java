@@ -1,7 +1,11 @@
 package com.ticketing.repository;
 
+import com.ticketing.dto.AgentRosterEntry;
+import com.ticketing.dto.UserSuggestion;
 import com.ticketing.model.Role;
+import com.ticketing.model.TicketStatus;
 import com.ticketing.model.User;
+import com.ticketing.security.UserPrincipal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,12 +13,19 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    @Query("SELECT new com.ticketing.security.UserPrincipal(u.id, u.username, u.role, u.enabled) " +
+           "FROM User u WHERE u.username = :username")
+    Optional<UserPrincipal> findPrincipalByUsername(@Param("username") String username);
+
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
@@ -30,4 +41,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<User> findBySearchTerm(@Param("search") String search, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.ticketing.dto.UserSuggestion(u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.enabled) " +
+           "FROM User u")
+    Stream<UserSuggestion> streamSuggestions();
+
+    @Query("SELECT new com.ticketing.dto.UserSuggestion(u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.enabled) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserSuggestion> findSuggestionById(@Param("id") Long id);
+
+    @Query("SELECT new com.ticketing.dto.UserSuggestion(u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.enabled) " +
+           "FROM User u WHERE u.username IN :usernames OR u.email IN :emails")
+    List<UserSuggestion> findByUsernameInOrEmailIn(@Param("usernames") Collection<String> usernames,
+                                                   @Param("emails") Collection<String> emails);
+    
+    // Whole roster with live workload in one GROUP BY, instead of countByAssigneeAndStatus per agent and status
+    @Query("SELECT new com.ticketing.dto.AgentRosterEntry(u.id, u.username, u.email, u.firstName, u.lastName, " +
+           "SUM(CASE WHEN t.status = :open THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.status = :inProgress THEN 1 ELSE 0 END), " +
+           "COUNT(t.rating), AVG(t.rating), " +
+           "MIN(CASE WHEN t.status = :open OR t.status = :inProgress THEN t.createdAt END)) " +
+           "FROM User u LEFT JOIN Ticket t ON t.assignee = u " +
+           "WHERE u.role = :role AND u.enabled = true " +
+           "GROUP BY u.id, u.username, u.email, u.firstName, u.lastName " +
+           "ORDER BY u.username")
+    List<AgentRosterEntry> findAgentRoster(@Param("role") Role role,
+                                           @Param("open") TicketStatus open,
+                                           @Param("inProgress") TicketStatus inProgress);
+}
@@ -0,0 +1,185 @@
+package com.ticketing.scheduling;
+
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.model.JobCheckpoint;
+import com.ticketing.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs periodic jobs once per interval across all backend nodes. Every node fires the same
+ * {@code @Scheduled} trigger. Each job is split into shards, and a node only works on a shard
+ * while it holds that shard's Postgres session advisory lock, so nodes share the shards instead
+ * of repeating them. Progress is stored in job_checkpoints, so a shard interrupted by a crash or
+ * deploy resumes where it stopped, and a shard that another node finished this round is skipped.
+ */
+@Component
+public class ClusterScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterScheduler.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final String nodeName = ManagementFactory.getRuntimeMXBean().getName();
+    // Guards against overlapping runs on this node, and is the only guard without PostgreSQL
+    private final Set<String> runningLocally = ConcurrentHashMap.newKeySet();
+    private boolean advisoryLocks;
+
+    @PostConstruct
+    void init() {
+        String url = dataSourceProperties.determineUrl();
+        advisoryLocks = url != null && url.startsWith("jdbc:postgresql:");
+        if (!advisoryLocks) {
+            logger.info("Scheduled jobs are not coordinated across nodes without PostgreSQL advisory locks");
+        }
+    }
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    public void runExclusive(String job, Duration interval, Runnable work) {
+        runSharded(job, 1, interval, shard -> {
+            work.run();
+            return true;
+        });
+    }
+
+    /**
+     * Runs every shard of {@code job} that is due and not being run by another node. A shard is
+     * due when it has not been completed within the last half {@code interval}.
+     */
+    @UsePool(DataSourcePool.BACKGROUND)
+    public void runSharded(String job, int shards, Duration interval, ShardWork work) {
+        // Nodes start at different shards, so they rarely contend for the same lock
+        int first = Math.floorMod(nodeName.hashCode(), shards);
+        for (int i = 0; i < shards; i++) {
+            runShard(job, (first + i) % shards, shards, interval, work);
+        }
+    }
+
+    private void runShard(String job, int shard, int shards, Duration interval, ShardWork work) {
+        String key = job + ":" + shard;
+        if (!runningLocally.add(key)) {
+            skipped(job, "locked");
+            return;
+        }
+        try (ShardLock lock = tryLock(job, shard)) {
+            if (lock == null) {
+                skipped(job, "locked");
+                return;
+            }
+
+            JobCheckpoint checkpoint = checkpointRepository.findById(new JobCheckpoint.Key(job, shard))
+                    .orElseGet(() -> new JobCheckpoint(job, shard));
+            LocalDateTime started = LocalDateTime.now();
+            if (checkpoint.getLastCompletedAt() != null && checkpoint.getLastCompletedAt().isAfter(started.minus(interval.dividedBy(2)))) {
+                skipped(job, "not-due");
+                return;
+            }
+
+            if (checkpoint.getPosition() == 0) {
+                checkpoint.setItemsProcessed(0);
+            }
+            checkpoint.setNodeName(nodeName);
+            checkpoint.setLastStartedAt(started);
+            JobShard jobShard = new JobShard(checkpoint, shards, checkpointRepository,
+                    Counter.builder("ticketing.jobs.items").tag("job", job).register(meterRegistry));
+            jobShard.save();
+
+            long startedNanos = System.nanoTime();
+            String outcome = "failed";
+            try {
+                if (work.run(jobShard)) {
+                    JobCheckpoint state = jobShard.state();
+                    state.setPosition(0);
+                    state.setLastCompletedAt(LocalDateTime.now());
+                    state.setLastDurationMs(Duration.ofNanos(System.nanoTime() - startedNanos).toMillis());
+                    jobShard.save();
+                    outcome = "completed";
+                } else {
+                    outcome = "partial";
+                }
+            } catch (RuntimeException e) {
+                logger.error("Job {} shard {} failed at position {}", job, shard, jobShard.position(), e);
+            } finally {
+                Timer.builder("ticketing.jobs.run").tag("job", job).tag("outcome", outcome).register(meterRegistry)
+                        .record(Duration.ofNanos(System.nanoTime() - startedNanos));
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not lock job {} shard {}: {}", job, shard, e.getMessage());
+        } finally {
+            runningLocally.remove(key);
+        }
+    }
+
+    /**
+     * Holds a connection with the shard's advisory lock for the length of the run, or returns null
+     * when another node holds it. The lock is released with the session if this node dies.
+     */
+    private ShardLock tryLock(String job, int shard) throws SQLException {
+        if (!advisoryLocks) {
+            return new ShardLock(null, job, shard);
+        }
+        Connection connection = dataSource.getConnection();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, job.hashCode());
+            statement.setInt(2, shard);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next() && rs.getBoolean(1)) {
+                    return new ShardLock(connection, job, shard);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+        connection.close();
+        return null;
+    }
+
+    private void skipped(String job, String reason) {
+        Counter.builder("ticketing.jobs.skipped").tag("job", job).tag("reason", reason).register(meterRegistry).increment();
+    }
+
+    private record ShardLock(Connection connection, String job, int shard) implements AutoCloseable {
+        @Override
+        public void close() throws SQLException {
+            if (connection == null) {
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+                statement.setInt(1, job.hashCode());
+                statement.setInt(2, shard);
+                statement.execute();
+            } finally {
+                connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ticketing.scheduling;
+
+import com.ticketing.model.JobCheckpoint;
+import com.ticketing.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * The slice of a job claimed by this node. Work belongs to the shard when {@code mod(id, count) = index},
+ * and {@link #position()} is the last id handled by an interrupted earlier run.
+ */
+public class JobShard {
+    private final int count;
+    private final JobCheckpointRepository checkpointRepository;
+    private final Counter items;
+    private JobCheckpoint checkpoint;
+
+    JobShard(JobCheckpoint checkpoint, int count, JobCheckpointRepository checkpointRepository, Counter items) {
+        this.checkpoint = checkpoint;
+        this.count = count;
+        this.checkpointRepository = checkpointRepository;
+        this.items = items;
+    }
+
+    public int index() {
+        return checkpoint.getShard();
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long position() {
+        return checkpoint.getPosition();
+    }
+
+    /**
+     * Records that everything up to {@code position} is done, so a restarted run skips it.
+     */
+    public void checkpoint(long position, long processed) {
+        checkpoint.setPosition(position);
+        checkpoint.setItemsProcessed(checkpoint.getItemsProcessed() + processed);
+        save();
+        items.increment(processed);
+    }
+
+    JobCheckpoint state() {
+        return checkpoint;
+    }
+
+    void save() {
+        checkpoint = checkpointRepository.save(checkpoint);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ticketing.scheduling;
+
+@FunctionalInterface
+public interface ShardWork {
+    /**
+     * Processes one shard, calling {@link JobShard#checkpoint} as it goes.
+     *
+     * @return true when the shard has no work left, false when the run stopped early and should resume
+     */
+    boolean run(JobShard shard);
+}
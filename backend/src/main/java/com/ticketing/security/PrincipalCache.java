@@ -0,0 +1,125 @@
+package com.ticketing.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.cache.LocalCache;
+import com.ticketing.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Principals of access tokens seen recently, keyed by token id, so authenticating a request is one
+ * map lookup instead of loading the user. An entry lives no longer than its token. Changes to a user
+ * drop their entries here and, through the {@link CacheTopic#USER} topic, on the other nodes, so the
+ * next request reloads the role and enabled flag. A load that started before such a change may have
+ * read the old row, so its entry is dropped again once it lands.
+ */
+@Component
+public class PrincipalCache implements LocalCache {
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Cache<String, Entry> principals;
+
+    // Ticks on every invalidation; users map to the tick of their latest one
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<Long, Long> invalidatedAt = Caffeine.newBuilder()
+            .expireAfterWrite(5, TimeUnit.MINUTES) // far longer than a load takes
+            .build();
+    private volatile long flushedAt;
+
+    public PrincipalCache(@Value("${app.security.principal-cache.max-entries:100000}") long maxEntries) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String jti, Entry entry, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.expiresAtMillis() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String jti, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(jti, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String jti, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * The principal for a validated token, or empty if its user no longer exists.
+     */
+    public Optional<UserPrincipal> get(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return userRepository.findPrincipalByUsername(claims.getSubject());
+        }
+        long started = generation.get();
+        Entry entry = principals.get(claims.getId(), jti -> userRepository.findPrincipalByUsername(claims.getSubject())
+                .map(principal -> new Entry(principal, claims.getExpiration().getTime()))
+                .orElse(null));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        // Checked after the entry is in the map, so either this or the eviction removes it
+        if (invalidatedSince(entry.principal().getId(), started)) {
+            principals.asMap().remove(claims.getId(), entry);
+        }
+        return Optional.of(entry.principal());
+    }
+
+    public void evict(Long userId) {
+        afterCommit(() -> evictNow(userId));
+    }
+
+    @Override
+    public void onInvalidation(CacheTopic topic, String key) {
+        if (topic == CacheTopic.USER) {
+            evictNow(Long.valueOf(key));
+        }
+    }
+
+    @Override
+    public void flush() {
+        flushedAt = generation.incrementAndGet();
+        principals.invalidateAll();
+    }
+
+    private void evictNow(Long userId) {
+        invalidatedAt.put(userId, generation.incrementAndGet());
+        principals.asMap().values().removeIf(entry -> entry.principal().getId().equals(userId));
+    }
+
+    private boolean invalidatedSince(Long userId, long started) {
+        Long invalidated = invalidatedAt.getIfPresent(userId);
+        return flushedAt > started || (invalidated != null && invalidated > started);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAtMillis) {}
+}
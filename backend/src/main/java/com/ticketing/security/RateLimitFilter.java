@@ -0,0 +1,176 @@
+package com.ticketing.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final Set<String> LISTING_PATHS = Set.of(
+            "/api/tickets", "/api/tickets/my", "/api/tickets/assigned", "/api/admin/users");
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.max-tracked-keys:1000000}")
+    private long maxTrackedKeys;
+
+    @Value("${app.rate-limit.page-size-unit:50}")
+    private int pageSizeUnit;
+
+    private final Map<RateLimitTier, TierLimit> limits = new EnumMap<>(RateLimitTier.class);
+    private final Map<RateLimitTier, Counter> allowedCounters = new EnumMap<>(RateLimitTier.class);
+    private final Map<RateLimitTier, Counter> rejectedCounters = new EnumMap<>(RateLimitTier.class);
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    void init() {
+        long longestRefillNanos = 0;
+        for (RateLimitTier tier : RateLimitTier.values()) {
+            String prefix = "app.rate-limit.tiers." + tier.propertyKey();
+            int capacity = environment.getProperty(prefix + ".capacity", Integer.class, 60);
+            int refillPerMinute = environment.getProperty(prefix + ".refill-per-minute", Integer.class, 60);
+            TierLimit limit = new TierLimit(capacity, TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute));
+            limits.put(tier, limit);
+            longestRefillNanos = Math.max(longestRefillNanos, limit.emissionIntervalNanos * capacity);
+
+            allowedCounters.put(tier, Counter.builder("ticketing.ratelimit.requests")
+                    .tag("tier", tier.propertyKey()).tag("outcome", "allowed").register(meterRegistry));
+            rejectedCounters.put(tier, Counter.builder("ticketing.ratelimit.requests")
+                    .tag("tier", tier.propertyKey()).tag("outcome", "rejected").register(meterRegistry));
+        }
+
+        // A bucket idle for longer than its full refill time is indistinguishable from a new one,
+        // so expiring it after that period never changes an admission decision.
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofNanos(longestRefillNanos))
+                .build();
+
+        Gauge.builder("ticketing.ratelimit.tracked.keys", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitTier tier = classify(request);
+        TierLimit limit = limits.get(tier);
+        String key = tier.propertyKey() + ":" + resolveClientKey(request, tier);
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(limit.capacity, limit.emissionIntervalNanos, now));
+        long waitNanos = bucket.tryAcquire(Math.min(cost(request, tier), limit.capacity), now);
+
+        if (waitNanos == 0) {
+            allowedCounters.get(tier).increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejectedCounters.get(tier).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        logger.debug("Rate limit exceeded for {} on {}", key, request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        final Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Rate limit exceeded, retry in " + retryAfterSeconds + " seconds");
+        body.put("path", request.getServletPath());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private RateLimitTier classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/auth/signin")) {
+            return RateLimitTier.SIGNIN;
+        }
+        if (path.contains("/bulk")) {
+            return RateLimitTier.BULK;
+        }
+        if ("GET".equals(request.getMethod())) {
+            if (StringUtils.hasText(request.getParameter("search"))) {
+                return RateLimitTier.SEARCH;
+            }
+            if (LISTING_PATHS.contains(path)) {
+                return RateLimitTier.LISTING;
+            }
+        }
+        return RateLimitTier.DEFAULT;
+    }
+
+    // Large pages cost proportionally more tokens, so size=1000 cannot bypass the listing budget
+    private int cost(HttpServletRequest request, RateLimitTier tier) {
+        if (tier != RateLimitTier.LISTING && tier != RateLimitTier.SEARCH) {
+            return 1;
+        }
+        String size = request.getParameter("size");
+        if (!StringUtils.hasText(size)) {
+            return 1;
+        }
+        try {
+            return Math.max(1, (Integer.parseInt(size) + pageSizeUnit - 1) / pageSizeUnit);
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private String resolveClientKey(HttpServletRequest request, RateLimitTier tier) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (tier != RateLimitTier.SIGNIN && authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        // Already the client's address when the request came through a trusted proxy (server.tomcat.remoteip)
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record TierLimit(int capacity, long emissionIntervalNanos) {}
+}
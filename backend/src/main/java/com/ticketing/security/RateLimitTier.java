@@ -0,0 +1,13 @@
+package com.ticketing.security;
+
+public enum RateLimitTier {
+    DEFAULT,
+    LISTING,
+    SEARCH,
+    SIGNIN,
+    BULK;
+
+    public String propertyKey() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,114 @@
+package com.ticketing.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ticketing.cache.CacheInvalidationBus;
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.cache.LocalCache;
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.model.RevokedToken;
+import com.ticketing.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory set of revoked access token ids. Entries only need to live until the token itself
+ * expires, so with short-lived access tokens the set stays small and lookups never touch the database.
+ * Revocations are stored in {@code revoked_tokens} and broadcast to the other nodes over the cache bus;
+ * a node reloads the stored ones when it starts and whenever it may have missed a broadcast.
+ */
+@Component
+public class TokenRevocationList implements LocalCache {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    @Autowired
+    private CacheInvalidationBus cacheBus;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final Cache<String, Long> revoked;
+
+    public TokenRevocationList(@Value("${app.jwt.max-revoked-tokens:100000}") long maxRevokedTokens) {
+        this.revoked = Caffeine.newBuilder()
+                .maximumSize(maxRevokedTokens)
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String jti, Long expiresAtMillis, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAtMillis - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String jti, Long expiresAtMillis, long currentTime, long currentDuration) {
+                        return expireAfterCreate(jti, expiresAtMillis, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String jti, Long expiresAtMillis, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // Not a @PostConstruct: the image's CDS training run refreshes the context without a database
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<RevokedToken> stored = revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
+        stored.forEach(token -> revoked.put(token.getJti(),
+                token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        logger.info("Loaded {} revoked access tokens", stored.size());
+    }
+
+    @Transactional
+    public void revoke(String jti, Date expiresAt) {
+        if (jti != null && expiresAt != null) {
+            revokedTokenRepository.insertIfAbsent(jti, LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()));
+            revoked.put(jti, expiresAt.getTime());
+            cacheBus.publish(CacheTopic.TOKEN_REVOCATION, expiresAt.getTime() + ":" + jti);
+        }
+    }
+
+    @Override
+    public void onInvalidation(CacheTopic topic, String key) {
+        if (topic == CacheTopic.TOKEN_REVOCATION) {
+            String[] parts = key.split(":", 2);
+            revoked.put(parts[1], Long.parseLong(parts[0]));
+        }
+    }
+
+    // Entries are never dropped here: a revocation must not be forgotten while its token is still valid
+    @Override
+    public void flush() {
+        load();
+    }
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Scheduled(fixedDelayString = "${app.jwt.revoked-token-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired token revocations", purged);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.getIfPresent(jti) != null;
+    }
+}
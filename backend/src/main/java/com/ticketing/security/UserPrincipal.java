@@ -0,0 +1,91 @@
+package com.ticketing.security;
+
+import com.ticketing.model.Role;
+import com.ticketing.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The authenticated caller as seen by request handling: just enough of the user to make permission
+ * decisions, with no password and no attachment to a persistence context. Two principals are equal
+ * when they name the same user.
+ */
+public final class UserPrincipal implements UserDetails {
+    private final Long id;
+    private final String username;
+    private final Role role;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String username, Role role, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.enabled = enabled;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public Long getId() { return id; }
+    public Role getRole() { return role; }
+
+    /**
+     * Compares by id only, so lazy references are never initialized.
+     */
+    public boolean is(User user) {
+        return user != null && id.equals(user.getId());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof UserPrincipal other && id.equals(other.id));
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal{id=" + id + ", username=" + username + ", role=" + role + "}";
+    }
+}
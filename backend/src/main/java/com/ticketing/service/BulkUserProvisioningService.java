@@ -0,0 +1,269 @@
+package com.ticketing.service;
+
+import com.ticketing.cache.CacheInvalidationBus;
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.dto.BulkUserRequest;
+import com.ticketing.dto.BulkUserResponse;
+import com.ticketing.dto.BulkUserResult;
+import com.ticketing.dto.RegisterRequest;
+import com.ticketing.dto.UserSuggestion;
+import com.ticketing.model.Role;
+import com.ticketing.model.User;
+import com.ticketing.repository.UserRepository;
+import com.ticketing.security.BoundedPasswordEncoder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many accounts in one request. Uniqueness is checked for the whole batch with set-based
+ * queries, passwords are hashed in parallel on a dedicated pool, rows are inserted with JDBC
+ * batches, and welcome emails go through the throttled {@link WelcomeEmailQueue}.
+ */
+@Service
+public class BulkUserProvisioningService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkUserProvisioningService.class);
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, email, password, first_name, last_name, role, enabled, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, true, ?, ?)";
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private UserTypeaheadIndex userTypeaheadIndex;
+
+    @Autowired
+    private WelcomeEmailQueue welcomeEmailQueue;
+
+    @Autowired
+    private CacheInvalidationBus cacheBus;
+
+    @Value("${app.bulk-provisioning.max-rows:5000}")
+    private int maxRows;
+
+    @Value("${app.bulk-provisioning.hashing-parallelism:0}")
+    private int hashingParallelism;
+
+    @Value("${app.bulk-provisioning.insert-batch-size:500}")
+    private int insertBatchSize;
+
+    private final TransactionTemplate transactionTemplate;
+    private ForkJoinPool hashingPool;
+
+    public BulkUserProvisioningService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        int parallelism = hashingParallelism > 0 ? hashingParallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        hashingPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("bulk-password-hash-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    void stop() {
+        hashingPool.shutdownNow();
+    }
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    public BulkUserResponse provision(BulkUserRequest request) {
+        List<RegisterRequest> rows = request.getUsers();
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " users can be created per request");
+        }
+        long started = System.currentTimeMillis();
+        BulkUserResult[] results = new BulkUserResult[rows.size()];
+
+        List<Integer> accepted = validate(rows, results);
+        rejectExisting(rows, accepted, results);
+
+        // Bypasses the sign-in hashing pool, so onboarding cannot starve interactive logins
+        PasswordEncoder encoder = passwordEncoder instanceof BoundedPasswordEncoder bounded ? bounded.getDelegate() : passwordEncoder;
+        List<String> hashes = hashingPool.submit(() -> accepted.parallelStream()
+                .map(row -> encoder.encode(rows.get(row).getPassword()))
+                .toList()).join();
+
+        List<User> created = new ArrayList<>();
+        for (int from = 0; from < accepted.size(); from += insertBatchSize) {
+            int to = Math.min(accepted.size(), from + insertBatchSize);
+            created.addAll(insertBatch(rows, accepted.subList(from, to), hashes.subList(from, to), results));
+        }
+
+        for (User user : created) {
+            userTypeaheadIndex.index(user);
+            cacheBus.publish(CacheTopic.USER, user.getId());
+        }
+        if (request.isSendWelcomeEmails()) {
+            welcomeEmailQueue.enqueue(created);
+        }
+
+        logger.info("Bulk provisioned {} of {} users in {} ms", created.size(), rows.size(), System.currentTimeMillis() - started);
+        return new BulkUserResponse(created.size(), rows.size() - created.size(), Arrays.asList(results));
+    }
+
+    private List<Integer> validate(List<RegisterRequest> rows, BulkUserResult[] results) {
+        List<Integer> accepted = new ArrayList<>();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            RegisterRequest row = rows.get(i);
+            if (row == null) {
+                results[i] = BulkUserResult.failed(i, null, "Row is empty");
+                continue;
+            }
+            Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                results[i] = BulkUserResult.failed(i, row.getUsername(), violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else if (usernames.contains(row.getUsername())) {
+                results[i] = BulkUserResult.failed(i, row.getUsername(), "Username appears more than once in this batch");
+            } else if (emails.contains(row.getEmail())) {
+                results[i] = BulkUserResult.failed(i, row.getUsername(), "Email appears more than once in this batch");
+            } else {
+                usernames.add(row.getUsername());
+                emails.add(row.getEmail());
+                accepted.add(i);
+            }
+        }
+        return accepted;
+    }
+
+    private void rejectExisting(List<RegisterRequest> rows, List<Integer> accepted, BulkUserResult[] results) {
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (int from = 0; from < accepted.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Integer> chunk = accepted.subList(from, Math.min(accepted.size(), from + LOOKUP_CHUNK_SIZE));
+            List<String> usernames = chunk.stream().map(row -> rows.get(row).getUsername()).toList();
+            List<String> emails = chunk.stream().map(row -> rows.get(row).getEmail()).toList();
+            for (UserSuggestion existing : userRepository.findByUsernameInOrEmailIn(usernames, emails)) {
+                takenUsernames.add(existing.username());
+                takenEmails.add(existing.email());
+            }
+        }
+
+        accepted.removeIf(row -> {
+            RegisterRequest request = rows.get(row);
+            if (takenUsernames.contains(request.getUsername())) {
+                results[row] = BulkUserResult.failed(row, request.getUsername(), "Username is already taken!");
+                return true;
+            }
+            if (takenEmails.contains(request.getEmail())) {
+                results[row] = BulkUserResult.failed(row, request.getUsername(), "Email is already in use!");
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Inserts one JDBC batch in its own transaction. If an account was created concurrently the
+     * batch fails as a whole, and its rows are retried one by one to find the conflicting ones.
+     */
+    private List<User> insertBatch(List<RegisterRequest> rows, List<Integer> batch, List<String> hashes, BulkUserResult[] results) {
+        List<User> users = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            RegisterRequest row = rows.get(batch.get(i));
+            users.add(new User(row.getUsername(), row.getEmail(), hashes.get(i), row.getFirstName(), row.getLastName(),
+                    row.getRole() != null ? row.getRole() : Role.USER));
+        }
+
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> insert(users));
+            for (int i = 0; i < batch.size(); i++) {
+                users.get(i).setId(ids.get(i));
+                results[batch.get(i)] = BulkUserResult.created(batch.get(i), users.get(i).getUsername(), ids.get(i));
+            }
+            return users;
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Bulk insert batch of {} conflicted, retrying row by row", batch.size());
+        }
+
+        List<User> created = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            User user = users.get(i);
+            int row = batch.get(i);
+            try {
+                user.setId(transactionTemplate.execute(status -> insert(List.of(user))).get(0));
+                results[row] = BulkUserResult.created(row, user.getUsername(), user.getId());
+                created.add(user);
+            } catch (DataIntegrityViolationException e) {
+                results[row] = BulkUserResult.failed(row, user.getUsername(), "Username or email is already in use");
+            }
+        }
+        return created;
+    }
+
+    private List<Long> insert(List<User> users) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_USER, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        User user = users.get(i);
+                        ps.setString(1, user.getUsername());
+                        ps.setString(2, user.getEmail());
+                        ps.setString(3, user.getPassword());
+                        ps.setString(4, user.getFirstName());
+                        ps.setString(5, user.getLastName());
+                        ps.setString(6, user.getRole().name());
+                        ps.setTimestamp(7, now);
+                        ps.setTimestamp(8, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                }, keys);
+
+        List<Long> ids = new ArrayList<>(users.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.get(key.containsKey("id") ? "id" : "ID")).longValue());
+        }
+        return ids;
+    }
+}
@@ -1,12 +1,18 @@
 package com.ticketing.service;
 
 import com.ticketing.dto.CommentRequest;
+import com.ticketing.dto.TicketAccess;
+import com.ticketing.event.CommentAdded;
+import com.ticketing.event.DomainEventBus;
 import com.ticketing.exception.AccessDeniedException;
 import com.ticketing.exception.ResourceNotFoundException;
+import com.ticketing.model.ChangeType;
 import com.ticketing.model.Comment;
 import com.ticketing.model.Ticket;
-import com.ticketing.model.User;
+import com.ticketing.repository.ArchivedCommentRepository;
 import com.ticketing.repository.CommentRepository;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,34 +29,67 @@ public class CommentService {
     private TicketService ticketService;
 
     @Autowired
-    private EmailService emailService;
+    private DomainEventBus eventBus;
 
-    public Comment addComment(Long ticketId, CommentRequest commentRequest, User author) {
-        Ticket ticket = ticketService.getTicketById(ticketId);
+    @Autowired
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketChangeLogService changeLog;
+
+    @Autowired
+    private TicketReadCoalescer readCoalescer;
+
+    @Autowired
+    private UserService userService;
+
+    public Comment addComment(Long ticketId, CommentRequest commentRequest, UserPrincipal author) {
+        TicketAccess access = ticketService.getAccess(ticketId, author);
+        if (access.archived()) {
+            throw new IllegalArgumentException("Ticket #" + ticketId + " is archived and can no longer be modified");
+        }
         
         // Check if user can view/comment on this ticket
-        if (!ticketService.canViewTicket(ticket, author)) {
+        if (!access.visible()) {
             throw new AccessDeniedException("You don't have permission to comment on this ticket");
         }
 
-        Comment comment = new Comment(commentRequest.getContent(), ticket, author);
+        Comment comment = new Comment(commentRequest.getContent(), ticketRepository.getReferenceById(ticketId),
+                userService.getReference(author.getId()));
         Comment savedComment = commentRepository.save(comment);
+        ticketRepository.recordComment(ticketId, author.getId(), savedComment.getCreatedAt());
+        readCoalescer.changed(ticketId);
+        changeLog.record(ChangeType.COMMENT_ADDED, ticketId, access.creatorId(), savedComment.getId(), author, null);
         
-        // Send notification emails
-        emailService.sendCommentAddedEmail(savedComment);
+        eventBus.publish(new CommentAdded(ticketId, savedComment.getId(), author.getId()));
         
         return savedComment;
     }
 
-    public List<Comment> getCommentsByTicket(Long ticketId, User currentUser) {
-        Ticket ticket = ticketService.getTicketById(ticketId);
+    public List<Comment> getCommentsByTicket(Long ticketId, UserPrincipal currentUser) {
+        TicketAccess access = ticketService.getAccess(ticketId, currentUser);
         
         // Check if user can view this ticket
-        if (!ticketService.canViewTicket(ticket, currentUser)) {
+        if (!access.visible()) {
             throw new AccessDeniedException("You don't have permission to view comments on this ticket");
         }
 
-        return commentRepository.findByTicketIdOrderByCreatedAtAsc(ticketId);
+        // Snapshots, since other requests' threads receive the same list
+        return readCoalescer.comments(ticketId, () -> (access.archived()
+                ? archivedComments(ticketId)
+                : commentRepository.findByTicketIdOrderByCreatedAtAsc(ticketId)).stream()
+                .map(Comment::snapshot)
+                .toList());
+    }
+
+    private List<Comment> archivedComments(Long ticketId) {
+        Ticket ticket = ticketService.getTicketById(ticketId);
+        return archivedCommentRepository.findByTicketIdOrderByCreatedAtAsc(ticketId).stream()
+                .map(archived -> archived.toComment(ticket))
+                .toList();
     }
 
     public Comment getCommentById(Long id) {
@@ -58,26 +97,32 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
     }
 
-    public Comment updateComment(Long id, CommentRequest commentRequest, User currentUser) {
+    public Comment updateComment(Long id, CommentRequest commentRequest, UserPrincipal currentUser) {
         Comment comment = getCommentById(id);
         
         // Only comment author can update
-        if (!comment.getAuthor().equals(currentUser)) {
+        if (!currentUser.is(comment.getAuthor())) {
             throw new AccessDeniedException("You can only update your own comments");
         }
 
         comment.setContent(commentRequest.getContent());
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        changeLog.record(ChangeType.COMMENT_UPDATED, comment.getTicket(), comment.getId(), currentUser, null);
+        readCoalescer.changed(comment.getTicket().getId());
+        return savedComment;
     }
 
-    public void deleteComment(Long id, User currentUser) {
+    public void deleteComment(Long id, UserPrincipal currentUser) {
         Comment comment = getCommentById(id);
         
         // Only comment author or admin can delete
-        if (!comment.getAuthor().equals(currentUser) && currentUser.getRole() != com.ticketing.model.Role.ADMIN) {
+        if (!currentUser.is(comment.getAuthor()) && currentUser.getRole() != com.ticketing.model.Role.ADMIN) {
             throw new AccessDeniedException("You can only delete your own comments");
         }
 
+        changeLog.record(ChangeType.COMMENT_DELETED, comment.getTicket(), comment.getId(), currentUser, null);
         commentRepository.delete(comment);
+        ticketRepository.recordCommentDeleted(comment.getTicket().getId());
+        readCoalescer.changed(comment.getTicket().getId());
     }
 }
\ No newline at end of file
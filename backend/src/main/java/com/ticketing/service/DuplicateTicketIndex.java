@@ -0,0 +1,307 @@
+package com.ticketing.service;
+
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.cache.LocalCache;
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.dto.DuplicateCandidate;
+import com.ticketing.dto.TicketText;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.TicketStatus;
+import com.ticketing.repository.TicketRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * MinHash/LSH index over the subject and description of open tickets, used to flag near-duplicates.
+ * Each ticket keeps a 64-value MinHash signature of its character shingles, split into 16 bands of 4.
+ * Tickets sharing any band become candidates, and the fraction of equal signature values estimates
+ * their Jaccard similarity. With these settings a pair at 0.7 similarity is found 99% of the time,
+ * and a pair at 0.3 only 12% of the time.
+ */
+@Service
+public class DuplicateTicketIndex implements LocalCache {
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateTicketIndex.class);
+
+    private static final int HASHES = 64;
+    private static final int ROWS_PER_BAND = 4;
+    private static final int BANDS = HASHES / ROWS_PER_BAND;
+    private static final int SHINGLE_LENGTH = 4;
+    // Outage reports repeat themselves early; the rest of a long description adds cost, not signal
+    private static final int MAX_TEXT_LENGTH = 2000;
+    private static final long[] SEEDS = new SplittableRandom(0x5EED_D0C5L).longs(HASHES).toArray();
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.duplicates.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.duplicates.min-similarity:0.5}")
+    private double minSimilarity;
+
+    @Value("${app.duplicates.max-candidates:10}")
+    private int maxCandidates;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+    private Timer lookupTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        lookupTimer = Timer.builder("ticketing.duplicates.lookup").register(meterRegistry);
+        Gauge.builder("ticketing.duplicates.indexed", entries, Map::size).register(meterRegistry);
+    }
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        entries.clear();
+        buckets.clear();
+        long started = System.currentTimeMillis();
+        try (Stream<TicketText> stream = ticketRepository.streamTextByStatusIn(
+                List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS))) {
+            stream.forEach(text -> put(text.id(), text.creatorId(), text.subject(), signature(text.subject(), text.description())));
+        }
+        logger.info("Indexed {} open tickets for duplicate detection in {} ms", entries.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Adds, re-indexes or drops the ticket according to its current status, once the transaction commits.
+     */
+    public void index(Ticket ticket) {
+        if (!enabled) {
+            return;
+        }
+        Long id = ticket.getId();
+        boolean open = isOpen(ticket);
+        Long creatorId = ticket.getCreator().getId();
+        String subject = ticket.getSubject();
+        int[] signature = open ? signature(subject, ticket.getDescription()) : null;
+
+        afterCommit(() -> {
+            if (open) {
+                put(id, creatorId, subject, signature);
+            } else {
+                remove(id);
+            }
+        });
+    }
+
+    @Override
+    @UsePool(DataSourcePool.BACKGROUND)
+    public void onInvalidation(CacheTopic topic, String key) {
+        if (!enabled || topic != CacheTopic.TICKET) {
+            return;
+        }
+        Long id = Long.valueOf(key);
+        ticketRepository.findTextByIdAndStatusIn(id, List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS))
+                .ifPresentOrElse(text -> put(id, text.creatorId(), text.subject(), signature(text.subject(), text.description())),
+                        () -> remove(id));
+    }
+
+    @Override
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Transactional(readOnly = true)
+    public void flush() {
+        rebuild();
+    }
+
+    public void unindex(Long ticketId) {
+        if (enabled) {
+            afterCommit(() -> remove(ticketId));
+        }
+    }
+
+    /**
+     * Candidates for an indexed ticket, or for one that is no longer open, from its current text.
+     */
+    public List<DuplicateCandidate> findCandidates(Ticket ticket) {
+        Entry entry = entries.get(ticket.getId());
+        int[] signature = entry != null ? entry.signature() : signature(ticket.getSubject(), ticket.getDescription());
+        return lookup(signature, ticket.getId(), null);
+    }
+
+    /**
+     * Candidates for a new ticket, optionally restricted to tickets created by {@code creatorId}.
+     */
+    public List<DuplicateCandidate> findCandidates(String subject, String description, Long creatorId) {
+        return lookup(signature(subject, description), null, creatorId);
+    }
+
+    private List<DuplicateCandidate> lookup(int[] signature, Long excludeId, Long creatorId) {
+        if (!enabled) {
+            return List.of();
+        }
+        long started = System.nanoTime();
+        Set<Long> seen = new HashSet<>();
+        List<DuplicateCandidate> candidates = new ArrayList<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> bucket = buckets.get(bandKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (Long id : bucket) {
+                if (id.equals(excludeId) || !seen.add(id)) {
+                    continue;
+                }
+                Entry entry = entries.get(id);
+                if (entry == null || (creatorId != null && !creatorId.equals(entry.creatorId()))) {
+                    continue;
+                }
+                double similarity = similarity(signature, entry.signature());
+                if (similarity >= minSimilarity) {
+                    candidates.add(new DuplicateCandidate(id, entry.subject(), similarity));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(DuplicateCandidate::similarity).reversed()
+                .thenComparing(DuplicateCandidate::ticketId));
+        lookupTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return candidates.size() > maxCandidates ? new ArrayList<>(candidates.subList(0, maxCandidates)) : candidates;
+    }
+
+    private void put(Long id, Long creatorId, String subject, int[] signature) {
+        entries.compute(id, (key, previous) -> {
+            if (previous != null) {
+                unlinkBands(key, previous.signature());
+            }
+            for (int band = 0; band < BANDS; band++) {
+                buckets.compute(bandKey(signature, band), (k, bucket) -> {
+                    Set<Long> members = bucket != null ? bucket : ConcurrentHashMap.newKeySet();
+                    members.add(key);
+                    return members;
+                });
+            }
+            return new Entry(creatorId, subject, signature);
+        });
+    }
+
+    private void remove(Long id) {
+        entries.computeIfPresent(id, (key, previous) -> {
+            unlinkBands(key, previous.signature());
+            return null;
+        });
+    }
+
+    private void unlinkBands(Long id, int[] signature) {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfPresent(bandKey(signature, band), (k, bucket) -> {
+                bucket.remove(id);
+                return bucket.isEmpty() ? null : bucket;
+            });
+        }
+    }
+
+    private static boolean isOpen(Ticket ticket) {
+        return (ticket.getStatus() == TicketStatus.OPEN || ticket.getStatus() == TicketStatus.IN_PROGRESS)
+                && ticket.getDuplicateOfId() == null;
+    }
+
+    private static int[] signature(String subject, String description) {
+        String text = normalize(subject + " " + (description != null ? description : ""));
+        long[] minimums = new long[HASHES];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+
+        int shingles = Math.max(1, text.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0;
+            for (int i = start; i < Math.min(text.length(), start + SHINGLE_LENGTH); i++) {
+                shingle = shingle * 31 + text.charAt(i);
+            }
+            for (int h = 0; h < HASHES; h++) {
+                long value = mix(shingle ^ SEEDS[h]);
+                if (value < minimums[h]) {
+                    minimums[h] = value;
+                }
+            }
+        }
+
+        int[] signature = new int[HASHES];
+        for (int h = 0; h < HASHES; h++) {
+            signature[h] = (int) (minimums[h] ^ (minimums[h] >>> 32));
+        }
+        return signature;
+    }
+
+    // Lowercase letters and digits separated by single spaces, so punctuation and spacing do not change shingles
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(Math.min(text.length(), MAX_TEXT_LENGTH));
+        boolean space = true;
+        for (int i = 0; i < text.length() && normalized.length() < MAX_TEXT_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS_PER_BAND; i < (band + 1) * ROWS_PER_BAND; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Entry(Long creatorId, String subject, int[] signature) {}
+}
@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Service;
 public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
+    @Lazy
     @Autowired
     private JavaMailSender mailSender;
 
@@ -25,6 +27,11 @@ public class EmailService {
 
     @Async
     public void sendWelcomeEmail(User user) {
+        deliverWelcomeEmail(user);
+    }
+
+    // Synchronous send, for callers that already run off the request thread
+    public void deliverWelcomeEmail(User user) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
@@ -48,7 +55,7 @@ public class EmailService {
         }
     }
 
-    @Async
+    // Ticket and comment emails are sent by TicketEmailNotifier, already off the request thread
     public void sendTicketCreatedEmail(Ticket ticket) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
@@ -79,7 +86,6 @@ public class EmailService {
         }
     }
 
-    @Async
     public void sendTicketAssignedEmail(Ticket ticket) {
         if (ticket.getAssignee() == null) return;
 
@@ -114,7 +120,6 @@ public class EmailService {
         }
     }
 
-    @Async
     public void sendTicketStatusChangedEmail(Ticket ticket, TicketStatus oldStatus) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
@@ -145,7 +150,6 @@ public class EmailService {
         }
     }
 
-    @Async
     public void sendCommentAddedEmail(Comment comment) {
         try {
             Ticket ticket = comment.getTicket();
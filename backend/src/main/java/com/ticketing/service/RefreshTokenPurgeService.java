@@ -0,0 +1,87 @@
+package com.ticketing.service;
+
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.repository.RefreshTokenRepository;
+import com.ticketing.scheduling.ClusterScheduler;
+import com.ticketing.scheduling.JobShard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes refresh tokens that expired more than {@code app.refresh-token-purge.grace-days} ago,
+ * sharded by id through {@link ClusterScheduler}.
+ */
+@Service
+public class RefreshTokenPurgeService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPurgeService.class);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private ClusterScheduler clusterScheduler;
+
+    @Value("${app.refresh-token-purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.refresh-token-purge.grace-days:1}")
+    private int graceDays;
+
+    @Value("${app.refresh-token-purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.refresh-token-purge.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.refresh-token-purge.shards:2}")
+    private int shards;
+
+    @Value("${app.refresh-token-purge.interval-ms:21600000}")
+    private long intervalMs;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public RefreshTokenPurgeService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Scheduled(fixedDelayString = "${app.refresh-token-purge.interval-ms:21600000}", initialDelayString = "${app.refresh-token-purge.initial-delay-ms:600000}")
+    public void purgeExpiredTokens() {
+        if (!enabled) {
+            return;
+        }
+        clusterScheduler.runSharded("refresh-token-purge", shards, Duration.ofMillis(intervalMs), this::purgeShard);
+    }
+
+    private boolean purgeShard(JobShard shard) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(graceDays);
+        int purged = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = refreshTokenRepository.findExpiredIds(cutoff, shard.position(), shard.count(), shard.index(), batchSize);
+            if (!ids.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.deleteByIds(ids));
+                purged += ids.size();
+                shard.checkpoint(ids.get(ids.size() - 1), ids.size());
+            }
+            if (ids.size() < batchSize) {
+                if (purged > 0) {
+                    logger.info("Purged {} refresh tokens expired before {} from shard {}/{}", purged, cutoff, shard.index(), shard.count());
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
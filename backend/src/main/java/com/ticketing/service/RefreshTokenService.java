@@ -0,0 +1,98 @@
+package com.ticketing.service;
+
+import com.ticketing.exception.TokenRefreshException;
+import com.ticketing.model.RefreshToken;
+import com.ticketing.model.User;
+import com.ticketing.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${app.jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+
+    public String createRefreshToken(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family. Presenting an already rotated token
+     * means it was replayed, so the whole family is revoked and the user has to sign in again.
+     */
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new TokenRefreshException("Refresh token is not recognised"));
+
+        if (current.isRevoked()) {
+            throw reuseDetected(current);
+        }
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new TokenRefreshException("Refresh token has expired, please sign in again");
+        }
+        if (!current.getUser().isEnabled()) {
+            throw new TokenRefreshException("User account is disabled");
+        }
+
+        // A concurrent rotation of the same token got there first; only one of them may extend the family
+        if (refreshTokenRepository.markRotated(current.getId()) == 0) {
+            throw reuseDetected(current);
+        }
+        String next = issue(current.getUser(), current.getFamilyId());
+        return new Rotation(current.getUser(), next);
+    }
+
+    public void revokeFamilyOf(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    private TokenRefreshException reuseDetected(RefreshToken token) {
+        refreshTokenRepository.revokeFamily(token.getFamilyId());
+        logger.warn("Refresh token reuse detected for user {}, revoking token family", token.getUser().getUsername());
+        return new TokenRefreshException("Refresh token has already been used");
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, user,
+                LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000L)));
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotation(User user, String refreshToken) {}
+}
@@ -0,0 +1,67 @@
+package com.ticketing.service;
+
+import com.ticketing.dto.SlaStatus;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Ticket;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resolution targets per priority. The clock runs from creation until the ticket is resolved,
+ * or closed without being resolved.
+ */
+@Component
+public class SlaPolicy {
+    private static final Map<Priority, Long> DEFAULT_HOURS = Map.of(
+            Priority.LOW, 120L, Priority.MEDIUM, 72L, Priority.HIGH, 24L, Priority.URGENT, 4L);
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.sla.at-risk-fraction:0.25}")
+    private double atRiskFraction;
+
+    private final Map<Priority, Long> targetHours = new EnumMap<>(Priority.class);
+
+    @PostConstruct
+    void init() {
+        for (Priority priority : Priority.values()) {
+            targetHours.put(priority, environment.getProperty("app.sla.resolution-hours." + priority.name().toLowerCase(),
+                    Long.class, DEFAULT_HOURS.get(priority)));
+        }
+    }
+
+    public long targetHours(Priority priority) {
+        return targetHours.get(priority != null ? priority : Priority.MEDIUM);
+    }
+
+    public SlaStatus evaluate(Ticket ticket) {
+        long hours = targetHours(ticket.getPriority());
+        LocalDateTime dueAt = ticket.getCreatedAt().plusHours(hours);
+        LocalDateTime stoppedAt = ticket.getResolvedAt() != null ? ticket.getResolvedAt() : ticket.getClosedAt();
+
+        if (stoppedAt != null) {
+            long remaining = Duration.between(stoppedAt, dueAt).toMinutes();
+            return new SlaStatus(stoppedAt.isAfter(dueAt) ? SlaStatus.State.MISSED : SlaStatus.State.MET, hours, dueAt, remaining);
+        }
+
+        long remaining = Duration.between(LocalDateTime.now(), dueAt).toMinutes();
+        SlaStatus.State state;
+        if (remaining < 0) {
+            state = SlaStatus.State.BREACHED;
+        } else if (remaining < hours * 60 * atRiskFraction) {
+            state = SlaStatus.State.AT_RISK;
+        } else {
+            state = SlaStatus.State.ON_TRACK;
+        }
+        return new SlaStatus(state, hours, dueAt, remaining);
+    }
+}
@@ -0,0 +1,366 @@
+package com.ticketing.service;
+
+import com.ticketing.cache.CacheInvalidationBus;
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.cache.LocalCache;
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.dto.CsatSummary;
+import com.ticketing.dto.ResolutionSample;
+import com.ticketing.dto.ResolutionStats;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Ticket;
+import com.ticketing.repository.TicketRepository;
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.IntCountsHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Incrementally maintained resolution-time and CSAT rollups. Each day keeps small HDR histograms
+ * per agent and per priority, so percentile queries merge at most {@code retention-days} buckets
+ * instead of scanning the tickets table.
+ *
+ * <p>Local changes are applied in place. Other nodes are told which day changed over the
+ * {@link CacheTopic#RESOLUTION_DAY} topic and reload that day from the database, and a flush reloads
+ * every day. A local change that commits while the same day is being reloaded can be overwritten by
+ * the reload; it shows again once that day is reloaded for a later change on another node, or on the
+ * next flush or restart.
+ */
+@Service
+public class TicketAnalyticsService implements LocalCache {
+    private static final Logger logger = LoggerFactory.getLogger(TicketAnalyticsService.class);
+
+    // One significant digit keeps each histogram around a kilobyte at ~6% relative error
+    private static final int SIGNIFICANT_DIGITS = 1;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheBus;
+
+    @Value("${app.analytics.retention-days:90}")
+    private int retentionDays;
+
+    // Replaced as a whole by a rebuild, so queries never see a half-loaded map
+    private volatile ConcurrentSkipListMap<LocalDate, DailyRollup> days = new ConcurrentSkipListMap<>();
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        ConcurrentSkipListMap<LocalDate, DailyRollup> rebuilt = new ConcurrentSkipListMap<>();
+        LocalDateTime since = LocalDate.now().minusDays(retentionDays - 1L).atStartOfDay();
+        long samples;
+        try (Stream<ResolutionSample> stream = ticketRepository.streamResolvedSince(since)) {
+            samples = load(stream, rebuilt);
+        }
+        days = rebuilt;
+        logger.info("Rebuilt ticket analytics from {} resolved tickets since {}", samples, since.toLocalDate());
+    }
+
+    @Override
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Transactional(readOnly = true)
+    public void onInvalidation(CacheTopic topic, String key) {
+        if (topic != CacheTopic.RESOLUTION_DAY) {
+            return;
+        }
+        LocalDate day = LocalDate.parse(key);
+        if (!inWindow(day)) {
+            return;
+        }
+        ConcurrentSkipListMap<LocalDate, DailyRollup> reloaded = new ConcurrentSkipListMap<>();
+        try (Stream<ResolutionSample> stream = ticketRepository.streamResolvedBetween(day.atStartOfDay(),
+                day.plusDays(1).atStartOfDay())) {
+            load(stream, reloaded);
+        }
+        DailyRollup rollup = reloaded.get(day);
+        if (rollup != null) {
+            days.put(day, rollup);
+        } else {
+            days.remove(day);
+        }
+    }
+
+    @Override
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Transactional(readOnly = true)
+    public void flush() {
+        rebuild();
+    }
+
+    public void recordResolution(Ticket ticket) {
+        LocalDateTime resolvedAt = ticket.getResolvedAt() != null ? ticket.getResolvedAt() : LocalDateTime.now();
+        Long assigneeId = ticket.getAssignee() != null ? ticket.getAssignee().getId() : null;
+        Priority priority = ticket.getPriority();
+        long minutes = minutesBetween(ticket.getCreatedAt(), resolvedAt);
+        Integer rating = ticket.getRating();
+
+        afterCommit(() -> {
+            DailyRollup rollup = rollupFor(resolvedAt.toLocalDate());
+            rollup.recordResolution(assigneeId, priority, minutes);
+            if (rating != null) {
+                rollup.recordRating(assigneeId, rating, 1);
+            }
+        });
+        cacheBus.publish(CacheTopic.RESOLUTION_DAY, resolvedAt.toLocalDate());
+    }
+
+    /**
+     * Takes back the resolution of a ticket that is being reopened, as it was before the reopen. Like
+     * {@link #rebuild()}, only a ticket's latest resolution counts, so resolving it again records it anew.
+     */
+    public void retractResolution(ResolutionSample sample) {
+        if (sample.resolvedAt() == null) {
+            return;
+        }
+        LocalDate resolvedOn = sample.resolvedAt().toLocalDate();
+        if (!inWindow(resolvedOn)) {
+            return;
+        }
+        Long assigneeId = sample.assigneeId();
+        Priority priority = sample.priority();
+        long minutes = minutesBetween(sample.createdAt(), sample.resolvedAt());
+        Integer rating = sample.rating();
+
+        afterCommit(() -> {
+            DailyRollup rollup = days.get(resolvedOn);
+            if (rollup == null) {
+                return;
+            }
+            rollup.retractResolution(assigneeId, priority, minutes);
+            if (rating != null) {
+                rollup.recordRating(assigneeId, rating, -1);
+            }
+        });
+        cacheBus.publish(CacheTopic.RESOLUTION_DAY, resolvedOn);
+    }
+
+    /**
+     * Records a new or changed rating in the bucket of the day the ticket was resolved, the same
+     * bucket {@link #rebuild()} puts it in, so live and rebuilt rollups agree. Tickets closed without
+     * a resolution, or resolved before the retention window, are not part of any bucket.
+     */
+    public void recordRating(Ticket ticket, Integer previousRating) {
+        if (ticket.getResolvedAt() == null) {
+            return;
+        }
+        LocalDate resolvedOn = ticket.getResolvedAt().toLocalDate();
+        if (!inWindow(resolvedOn)) {
+            return;
+        }
+        Long assigneeId = ticket.getAssignee() != null ? ticket.getAssignee().getId() : null;
+        Integer rating = ticket.getRating();
+
+        afterCommit(() -> {
+            DailyRollup rollup = rollupFor(resolvedOn);
+            if (previousRating != null) {
+                rollup.recordRating(assigneeId, previousRating, -1);
+            }
+            if (rating != null) {
+                rollup.recordRating(assigneeId, rating, 1);
+            }
+        });
+        cacheBus.publish(CacheTopic.RESOLUTION_DAY, resolvedOn);
+    }
+
+    public List<ResolutionStats> getResolutionStatsByAgent(int lastDays) {
+        Map<Long, AbstractHistogram> merged = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (DailyRollup rollup : window(lastDays)) {
+            rollup.mergeByAgentInto(merged);
+        }
+
+        List<ResolutionStats> stats = new ArrayList<>();
+        merged.forEach((agentId, histogram) -> stats.add(toStats(agentId == null ? "unassigned" : agentId.toString(), histogram)));
+        return stats;
+    }
+
+    public List<ResolutionStats> getResolutionStatsByPriority(int lastDays) {
+        Map<Priority, AbstractHistogram> merged = new EnumMap<>(Priority.class);
+        AbstractHistogram overall = newHistogram();
+        for (DailyRollup rollup : window(lastDays)) {
+            rollup.mergeByPriorityInto(merged, overall);
+        }
+
+        List<ResolutionStats> stats = new ArrayList<>();
+        merged.forEach((priority, histogram) -> stats.add(toStats(priority.name(), histogram)));
+        stats.add(toStats("ALL", overall));
+        return stats;
+    }
+
+    public List<CsatSummary> getCsatByAgent(int lastDays) {
+        Map<Long, long[]> merged = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (DailyRollup rollup : window(lastDays)) {
+            rollup.mergeRatingsInto(merged);
+        }
+
+        List<CsatSummary> summaries = new ArrayList<>();
+        merged.forEach((agentId, counts) -> summaries.add(toCsat(agentId == null ? "unassigned" : agentId.toString(), counts)));
+        return summaries;
+    }
+
+    public List<CsatSummary> getCsatTrend(int lastDays) {
+        List<CsatSummary> trend = new ArrayList<>();
+        for (Map.Entry<LocalDate, DailyRollup> day : days.tailMap(LocalDate.now().minusDays(lastDays - 1L), true).entrySet()) {
+            trend.add(toCsat(day.getKey().toString(), day.getValue().totalRatings()));
+        }
+        return trend;
+    }
+
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictExpiredDays() {
+        days.headMap(LocalDate.now().minusDays(retentionDays - 1L)).clear();
+    }
+
+    private boolean inWindow(LocalDate day) {
+        return !day.isBefore(LocalDate.now().minusDays(retentionDays - 1L));
+    }
+
+    private static long load(Stream<ResolutionSample> samples, Map<LocalDate, DailyRollup> into) {
+        long count = 0;
+        for (Iterator<ResolutionSample> it = samples.iterator(); it.hasNext(); count++) {
+            ResolutionSample sample = it.next();
+            DailyRollup rollup = into.computeIfAbsent(sample.resolvedAt().toLocalDate(), d -> new DailyRollup());
+            rollup.recordResolution(sample.assigneeId(), sample.priority(), minutesBetween(sample.createdAt(), sample.resolvedAt()));
+            if (sample.rating() != null) {
+                rollup.recordRating(sample.assigneeId(), sample.rating(), 1);
+            }
+        }
+        return count;
+    }
+
+    private Collection<DailyRollup> window(int lastDays) {
+        int clamped = Math.max(1, Math.min(lastDays, retentionDays));
+        return days.tailMap(LocalDate.now().minusDays(clamped - 1L), true).values();
+    }
+
+    private DailyRollup rollupFor(LocalDate day) {
+        return days.computeIfAbsent(day, d -> new DailyRollup());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long minutesBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return 1;
+        }
+        return Math.max(1, Duration.between(from, to).toMinutes());
+    }
+
+    private static AbstractHistogram newHistogram() {
+        return new IntCountsHistogram(SIGNIFICANT_DIGITS);
+    }
+
+    private static ResolutionStats toStats(String group, AbstractHistogram histogram) {
+        return new ResolutionStats(group,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99),
+                histogram.getTotalCount() > 0 ? histogram.getMean() : 0);
+    }
+
+    private static CsatSummary toCsat(String group, long[] counts) {
+        long total = 0;
+        long sum = 0;
+        for (int rating = 1; rating <= 5; rating++) {
+            total += counts[rating];
+            sum += counts[rating] * rating;
+        }
+        if (total <= 0) {
+            return new CsatSummary(group, 0, 0, 0);
+        }
+        return new CsatSummary(group, total, (double) sum / total, 100.0 * (counts[4] + counts[5]) / total);
+    }
+
+    private static final class DailyRollup {
+        private final Map<Long, AbstractHistogram> byAgent = new HashMap<>();
+        private final Map<Priority, AbstractHistogram> byPriority = new EnumMap<>(Priority.class);
+        private final Map<Long, long[]> ratingsByAgent = new HashMap<>();
+        private final long[] ratings = new long[6];
+
+        synchronized void recordResolution(Long assigneeId, Priority priority, long minutes) {
+            byAgent.computeIfAbsent(assigneeId, id -> newHistogram()).recordValue(minutes);
+            if (priority != null) {
+                byPriority.computeIfAbsent(priority, p -> newHistogram()).recordValue(minutes);
+            }
+        }
+
+        synchronized void retractResolution(Long assigneeId, Priority priority, long minutes) {
+            remove(byAgent.get(assigneeId), minutes);
+            if (priority != null) {
+                remove(byPriority.get(priority), minutes);
+            }
+        }
+
+        synchronized void recordRating(Long assigneeId, int rating, int delta) {
+            if (rating < 1 || rating > 5) {
+                return;
+            }
+            ratings[rating] += delta;
+            ratingsByAgent.computeIfAbsent(assigneeId, id -> new long[6])[rating] += delta;
+        }
+
+        synchronized void mergeByAgentInto(Map<Long, AbstractHistogram> target) {
+            byAgent.forEach((agentId, histogram) -> target.computeIfAbsent(agentId, id -> newHistogram()).add(histogram));
+        }
+
+        synchronized void mergeByPriorityInto(Map<Priority, AbstractHistogram> target, AbstractHistogram overall) {
+            byPriority.forEach((priority, histogram) -> {
+                target.computeIfAbsent(priority, p -> newHistogram()).add(histogram);
+                overall.add(histogram);
+            });
+        }
+
+        synchronized void mergeRatingsInto(Map<Long, long[]> target) {
+            ratingsByAgent.forEach((agentId, counts) -> {
+                long[] merged = target.computeIfAbsent(agentId, id -> new long[6]);
+                for (int i = 0; i < counts.length; i++) {
+                    merged[i] += counts[i];
+                }
+            });
+        }
+
+        synchronized long[] totalRatings() {
+            return ratings.clone();
+        }
+
+        // Nothing matches when the assignee or priority changed after the resolution was recorded
+        private static void remove(AbstractHistogram histogram, long minutes) {
+            if (histogram != null && histogram.getCountAtValue(minutes) > 0) {
+                AbstractHistogram single = newHistogram();
+                single.recordValue(minutes);
+                histogram.subtract(single);
+            }
+        }
+    }
+}
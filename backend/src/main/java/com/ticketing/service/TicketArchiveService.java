@@ -0,0 +1,168 @@
+package com.ticketing.service;
+
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.model.ArchivedTicket;
+import com.ticketing.model.Ticket;
+import com.ticketing.repository.ArchivedTicketRepository;
+import com.ticketing.scheduling.ClusterScheduler;
+import com.ticketing.scheduling.JobShard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Moves CLOSED tickets older than {@code app.archive.closed-after-days}, with their comments and
+ * attachment metadata, from the live tables into the archived_* tables in small throttled batches.
+ * Tickets are sharded by id through {@link ClusterScheduler}, so nodes archive different shards.
+ */
+@Service
+public class TicketArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketArchiveService.class);
+
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Autowired
+    private ClusterScheduler clusterScheduler;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.closed-after-days:180}")
+    private int closedAfterDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.pause-between-batches-ms:200}")
+    private long pauseBetweenBatchesMs;
+
+    @Value("${app.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.archive.shards:4}")
+    private int shards;
+
+    @Value("${app.archive.interval-ms:3600000}")
+    private long intervalMs;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TicketArchiveService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}", initialDelayString = "${app.archive.initial-delay-ms:300000}")
+    public void archiveClosedTickets() {
+        if (!enabled) {
+            return;
+        }
+        clusterScheduler.runSharded("ticket-archive", shards, Duration.ofMillis(intervalMs), this::archiveShard);
+    }
+
+    private boolean archiveShard(JobShard shard) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(closedAfterDays);
+        int archived = 0;
+        boolean complete = false;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> moved = archiveBatch(cutoff, shard);
+            if (!moved.isEmpty()) {
+                archived += moved.size();
+                shard.checkpoint(moved.get(moved.size() - 1), moved.size());
+            }
+            if (moved.size() < batchSize) {
+                complete = true;
+                break;
+            }
+            try {
+                Thread.sleep(pauseBetweenBatchesMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            logger.info("Archived {} tickets closed before {} from shard {}/{}", archived, cutoff, shard.index(), shard.count());
+        }
+        return complete;
+    }
+
+    /**
+     * Moves one batch in its own transaction so locks are held only briefly.
+     */
+    private List<Long> archiveBatch(LocalDateTime cutoff, JobShard shard) {
+        List<Long> moved = transactionTemplate.execute(status -> {
+            List<Long> ids = archivedTicketRepository.lockArchivableTicketIds(cutoff, shard.position(), shard.count(),
+                    shard.index(), batchSize);
+            if (ids.isEmpty()) {
+                return ids;
+            }
+            archivedTicketRepository.copyTickets(ids);
+            archivedTicketRepository.copyComments(ids);
+            archivedTicketRepository.copyAttachments(ids);
+            archivedTicketRepository.deleteLiveComments(ids);
+            archivedTicketRepository.deleteLiveAttachments(ids);
+            archivedTicketRepository.deleteLiveTickets(ids);
+            return ids;
+        });
+        return moved != null ? moved : List.of();
+    }
+
+    public Optional<Ticket> findArchivedTicket(Long id) {
+        return archivedTicketRepository.findWithPeopleById(id).map(ArchivedTicket::toTicket);
+    }
+
+    /**
+     * Extends a page of live tickets with archived ones. Archived tickets are ordered after all live
+     * matches, so at most two aligned archive pages are read for any requested page.
+     */
+    public Page<Ticket> appendArchived(Page<Ticket> live, Pageable pageable,
+                                       Function<Pageable, Page<ArchivedTicket>> archiveQuery) {
+        int size = pageable.getPageSize();
+        List<Ticket> content = new ArrayList<>(live.getContent());
+        long archiveStart = Math.max(0, pageable.getOffset() + content.size() - live.getTotalElements());
+
+        long archivedTotal;
+        if (content.size() < size) {
+            int archivePage = (int) (archiveStart / size);
+            int skip = (int) (archiveStart % size);
+            Page<ArchivedTicket> archived = archiveQuery.apply(PageRequest.of(archivePage, size, pageable.getSort()));
+            archivedTotal = archived.getTotalElements();
+            addArchived(content, archived.getContent(), skip, size);
+
+            if (content.size() < size && archived.hasNext()) {
+                Page<ArchivedTicket> next = archiveQuery.apply(PageRequest.of(archivePage + 1, size, pageable.getSort()));
+                addArchived(content, next.getContent(), 0, size);
+            }
+        } else {
+            archivedTotal = archiveQuery.apply(PageRequest.of(0, 1, pageable.getSort())).getTotalElements();
+        }
+
+        return new PageImpl<>(content, pageable, live.getTotalElements() + archivedTotal);
+    }
+
+    private void addArchived(List<Ticket> content, List<ArchivedTicket> archived, int skip, int size) {
+        for (int i = skip; i < archived.size() && content.size() < size; i++) {
+            content.add(archived.get(i).toTicket());
+        }
+    }
+}
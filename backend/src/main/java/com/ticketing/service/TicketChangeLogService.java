@@ -0,0 +1,102 @@
+package com.ticketing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.dto.ChangeFeedResponse;
+import com.ticketing.model.*;
+import com.ticketing.repository.TicketChangeRepository;
+import com.ticketing.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only change log written in the same transaction as the change itself, so the feed and
+ * the tickets table can never disagree. Doubles as the audit trail.
+ */
+@Service
+@Transactional
+public class TicketChangeLogService {
+    @Autowired
+    private TicketChangeRepository ticketChangeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.changes.max-page-size:500}")
+    private int maxPageSize;
+
+    // Sequence numbers are assigned at insert but become visible at commit, so the newest rows are
+    // held back briefly to avoid a tailer skipping over a slower transaction's lower sequence number.
+    // This only holds while no writing transaction takes longer than the delay from insert to commit,
+    // and while node clocks agree to well within it, since createdAt comes from the writer's clock.
+    @Value("${app.changes.settle-delay-ms:2000}")
+    private long settleDelayMs;
+
+    public void record(ChangeType type, Ticket ticket, UserPrincipal actor, Map<String, Object> details) {
+        record(type, ticket, null, actor, details);
+    }
+
+    public void record(ChangeType type, Ticket ticket, Long commentId, UserPrincipal actor, Map<String, Object> details) {
+        record(type, ticket.getId(), ticket.getCreator().getId(), commentId, actor, details);
+    }
+
+    public void record(ChangeType type, Long ticketId, Long ticketCreatorId, Long commentId, UserPrincipal actor,
+                       Map<String, Object> details) {
+        ticketChangeRepository.save(new TicketChange(
+                type,
+                ticketId,
+                ticketCreatorId,
+                commentId,
+                actor != null ? actor.getId() : null,
+                toJson(details)));
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse getChangesAfter(long after, int limit, UserPrincipal currentUser) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleDelayMs * 1_000_000L);
+        // Fetch one extra row to know whether the caller should keep paging
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<TicketChange> changes = currentUser.getRole() == Role.USER
+                ? ticketChangeRepository.findAfterForCreator(currentUser.getId(), after, settledBefore, page)
+                : ticketChangeRepository.findAfter(after, settledBefore, page);
+
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+        long nextAfter = changes.isEmpty() ? after : changes.get(changes.size() - 1).getId();
+        return new ChangeFeedResponse(changes, nextAfter, hasMore);
+    }
+
+    /**
+     * Builds a details map from alternating keys and values; unlike Map.of, null values are kept.
+     */
+    public static Map<String, Object> details(Object... keysAndValues) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+            details.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return details;
+    }
+
+    private String toJson(Map<String, Object> details) {
+        if (details == null || details.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize change details", e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.ticketing.service;
+
+import com.ticketing.dto.TicketDetailResponse;
+import com.ticketing.exception.ResourceNotFoundException;
+import com.ticketing.exception.ServiceBusyException;
+import com.ticketing.model.Attachment;
+import com.ticketing.model.Comment;
+import com.ticketing.model.Ticket;
+import com.ticketing.repository.ArchivedAttachmentRepository;
+import com.ticketing.repository.ArchivedCommentRepository;
+import com.ticketing.repository.AttachmentRepository;
+import com.ticketing.repository.CommentRepository;
+import com.ticketing.security.UserPrincipal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Everything the ticket page needs in one request. The ticket is loaded and the permission checked
+ * once on the request thread; the first page of comments and the attachments are then loaded in
+ * parallel on a small bounded pool. When the pool is saturated the request thread runs the loads itself.
+ * The endpoint is kept out of open-session-in-view, so a waiting request thread holds no connection, and
+ * the executor is capped at half the OLTP pool so its loads cannot take every connection.
+ */
+@Service
+public class TicketDetailService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketDetailService.class);
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private ArchivedAttachmentRepository archivedAttachmentRepository;
+
+    @Autowired
+    private SlaPolicy slaPolicy;
+
+    @Autowired
+    private TicketReadCoalescer readCoalescer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.ticket-detail.threads:8}")
+    private int threads;
+
+    @Value("${app.datasource.pools.oltp.maximum-pool-size:10}")
+    private int oltpPoolSize;
+
+    @Value("${app.ticket-detail.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.ticket-detail.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @Value("${app.ticket-detail.comment-page-size:50}")
+    private int commentPageSize;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int size = Math.min(threads, Math.max(1, oltpPoolSize / 2));
+        if (size < threads) {
+            logger.warn("app.ticket-detail.threads={} exceeds half the OLTP pool ({}), using {}", threads, oltpPoolSize, size);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "ticket-detail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        Gauge.builder("ticketing.ticket.detail.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("ticketing.ticket.detail.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public TicketDetailResponse getDetail(Long ticketId, UserPrincipal currentUser) {
+        if (!ticketService.getAccess(ticketId, currentUser).visible()) {
+            throw new ResourceNotFoundException("Ticket not found with id: " + ticketId);
+        }
+        Ticket ticket = ticketService.getTicketById(ticketId);
+
+        Future<List<Comment>> comments = ticket.getCommentCount() > 0
+                ? executor.submit(() -> firstComments(ticket))
+                : CompletableFuture.completedFuture(List.of());
+        Future<List<Attachment>> attachments = executor.submit(() -> attachments(ticket));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<Comment> commentPage = await(comments, deadline, attachments);
+        List<Attachment> attachmentList = await(attachments, deadline, comments);
+        return new TicketDetailResponse(ticket, commentPage, ticket.getCommentCount() > commentPage.size(),
+                attachmentList, slaPolicy.evaluate(ticket));
+    }
+
+    private List<Comment> firstComments(Ticket ticket) {
+        PageRequest page = PageRequest.of(0, commentPageSize);
+        return readCoalescer.firstCommentPage(ticket.getId(), () -> ticket.isArchived()
+                ? archivedCommentRepository.findByTicketIdOrderByCreatedAtAscIdAsc(ticket.getId(), page).stream()
+                        .map(archived -> archived.toComment(ticket).snapshot())
+                        .toList()
+                : commentRepository.findByTicketIdOrderByCreatedAtAscIdAsc(ticket.getId(), page).stream()
+                        .map(Comment::snapshot)
+                        .toList());
+    }
+
+    private List<Attachment> attachments(Ticket ticket) {
+        if (ticket.isArchived()) {
+            return archivedAttachmentRepository.findByTicketIdOrderByUploadedAtAsc(ticket.getId()).stream()
+                    .map(archived -> archived.toAttachment(ticket))
+                    .toList();
+        }
+        return attachmentRepository.findByTicketIdOrderByUploadedAtAsc(ticket.getId());
+    }
+
+    private static <T> T await(Future<T> future, long deadline, Future<?> sibling) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            sibling.cancel(true);
+            throw new ServiceBusyException("Ticket details are taking too long to load, please retry shortly", 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            sibling.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading ticket details", e);
+        } catch (ExecutionException e) {
+            sibling.cancel(true);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
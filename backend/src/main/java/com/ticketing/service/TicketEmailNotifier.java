@@ -0,0 +1,79 @@
+package com.ticketing.service;
+
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.event.*;
+import com.ticketing.model.Comment;
+import com.ticketing.model.Ticket;
+import com.ticketing.repository.CommentRepository;
+import com.ticketing.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the ticket and comment notification emails from the event bus. Each batch loads its tickets
+ * and comments, with the people involved, in two queries and sends outside any transaction.
+ */
+@Service
+public class TicketEmailNotifier implements DomainEventConsumer {
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    @UsePool(DataSourcePool.BACKGROUND)
+    public void onEvents(List<DomainEvent> events) {
+        Set<Long> ticketIds = new HashSet<>();
+        Set<Long> commentIds = new HashSet<>();
+        for (DomainEvent event : events) {
+            if (event instanceof CommentAdded added) {
+                commentIds.add(added.commentId());
+            } else {
+                ticketIds.add(event.ticketId());
+            }
+        }
+        Map<Long, Ticket> tickets = ticketIds.isEmpty() ? Map.of() : ticketRepository.findWithPeopleByIdIn(ticketIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+        Map<Long, Comment> comments = commentIds.isEmpty() ? Map.of() : commentRepository.findWithTicketAndPeopleByIdIn(commentIds).stream()
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+
+        for (DomainEvent event : events) {
+            if (event instanceof CommentAdded added) {
+                Comment comment = comments.get(added.commentId());
+                if (comment != null) {
+                    emailService.sendCommentAddedEmail(comment);
+                }
+                continue;
+            }
+            // Archived or deleted since
+            Ticket ticket = tickets.get(event.ticketId());
+            if (ticket == null) {
+                continue;
+            }
+            if (event instanceof TicketCreated) {
+                emailService.sendTicketCreatedEmail(ticket);
+            } else if (event instanceof TicketAssigned assigned) {
+                // Skipped if reassigned again since; that assignment has its own event
+                if (ticket.getAssignee() != null && ticket.getAssignee().getId().equals(assigned.assigneeId())) {
+                    emailService.sendTicketAssignedEmail(ticket);
+                }
+            } else if (event instanceof StatusChanged changed) {
+                emailService.sendTicketStatusChangedEmail(ticket, changed.from());
+            }
+        }
+    }
+}
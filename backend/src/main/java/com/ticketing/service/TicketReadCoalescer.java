@@ -0,0 +1,77 @@
+package com.ticketing.service;
+
+import com.ticketing.cache.SingleFlight;
+import com.ticketing.model.Comment;
+import com.ticketing.model.Ticket;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Shares in-flight ticket and comment loads between concurrent requests for the same ticket, so an
+ * incident that sends everyone to one ticket costs one query per load instead of one per viewer.
+ * Only the database load is shared; every caller still runs its own permission check on the result.
+ * Shared tickets and comments must not be attached to the loading thread's persistence context, since
+ * other threads read them while that context is still open; loaders return {@link Ticket#snapshot()} and
+ * {@link Comment#snapshot()} copies.
+ */
+@Component
+public class TicketReadCoalescer {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.single-flight.enabled:true}")
+    private boolean enabled;
+
+    private SingleFlight<Long, Ticket> tickets;
+    private SingleFlight<Long, List<Comment>> comments;
+    // The detail page size is fixed by configuration, so the ticket id identifies the page
+    private SingleFlight<Long, List<Comment>> commentPages;
+
+    @PostConstruct
+    void init() {
+        tickets = new SingleFlight<>("ticket", meterRegistry);
+        comments = new SingleFlight<>("comments", meterRegistry);
+        commentPages = new SingleFlight<>("comment-page", meterRegistry);
+    }
+
+    public Ticket ticket(Long ticketId, Supplier<Ticket> loader) {
+        return enabled ? tickets.execute(ticketId, loader) : loader.get();
+    }
+
+    public List<Comment> comments(Long ticketId, Supplier<List<Comment>> loader) {
+        return enabled ? comments.execute(ticketId, loader) : loader.get();
+    }
+
+    public List<Comment> firstCommentPage(Long ticketId, Supplier<List<Comment>> loader) {
+        return enabled ? commentPages.execute(ticketId, loader) : loader.get();
+    }
+
+    /**
+     * Called by writers, so that once their transaction commits no reader joins a load that started before it.
+     */
+    public void changed(Long ticketId) {
+        Runnable forget = () -> {
+            tickets.forget(ticketId);
+            comments.forget(ticketId);
+            commentPages.forget(ticketId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget.run();
+                }
+            });
+        } else {
+            forget.run();
+        }
+    }
+}
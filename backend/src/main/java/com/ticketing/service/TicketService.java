@@ -1,16 +1,36 @@
 package com.ticketing.service;
 
+import com.ticketing.cache.CacheInvalidationBus;
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.dto.DuplicateCandidate;
+import com.ticketing.dto.ResolutionSample;
+import com.ticketing.dto.TicketAccess;
+import com.ticketing.dto.TicketStatusView;
+import com.ticketing.event.DomainEventBus;
+import com.ticketing.event.StatusChanged;
+import com.ticketing.event.TicketAssigned;
+import com.ticketing.event.TicketCreated;
 import com.ticketing.dto.TicketRequest;
 import com.ticketing.exception.AccessDeniedException;
 import com.ticketing.exception.ResourceNotFoundException;
+import com.ticketing.exception.TicketStatusConflictException;
 import com.ticketing.model.*;
+import com.ticketing.repository.ArchivedTicketRepository;
 import com.ticketing.repository.TicketRepository;
+import com.ticketing.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static com.ticketing.service.TicketChangeLogService.details;
+
 @Service
 @Transactional
 public class TicketService {
@@ -21,14 +41,35 @@ public class TicketService {
     private UserService userService;
 
     @Autowired
-    private EmailService emailService;
+    private DomainEventBus eventBus;
+
+    @Autowired
+    private TicketArchiveService ticketArchiveService;
+
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Autowired
+    private TicketAnalyticsService ticketAnalyticsService;
+
+    @Autowired
+    private TicketChangeLogService changeLog;
+
+    @Autowired
+    private DuplicateTicketIndex duplicateIndex;
+
+    @Autowired
+    private CacheInvalidationBus cacheBus;
+
+    @Autowired
+    private TicketReadCoalescer readCoalescer;
 
-    public Ticket createTicket(TicketRequest ticketRequest, User creator) {
+    public Ticket createTicket(TicketRequest ticketRequest, UserPrincipal creator) {
         Ticket ticket = new Ticket(
                 ticketRequest.getSubject(),
                 ticketRequest.getDescription(),
                 ticketRequest.getPriority(),
-                creator
+                userService.getReference(creator.getId())
         );
 
         if (ticketRequest.getAssigneeId() != null) {
@@ -38,39 +79,74 @@ public class TicketService {
             }
         }
 
+        // Regular users are only pointed at their own earlier tickets
+        List<DuplicateCandidate> candidates = duplicateIndex.findCandidates(ticket.getSubject(), ticket.getDescription(),
+                creator.getRole() == Role.USER ? creator.getId() : null);
+
         Ticket savedTicket = ticketRepository.save(ticket);
+        changeLog.record(ChangeType.TICKET_CREATED, savedTicket, creator, details(
+                "subject", savedTicket.getSubject(),
+                "priority", savedTicket.getPriority(),
+                "assigneeId", savedTicket.getAssignee() != null ? savedTicket.getAssignee().getId() : null));
+        duplicateIndex.index(savedTicket);
+        cacheBus.publish(CacheTopic.TICKET, savedTicket.getId());
+        readCoalescer.changed(savedTicket.getId());
+        savedTicket.setDuplicateCandidates(candidates);
         
-        // Send notification emails
-        emailService.sendTicketCreatedEmail(savedTicket);
+        eventBus.publish(new TicketCreated(savedTicket.getId(), creator.getId()));
         if (savedTicket.getAssignee() != null) {
-            emailService.sendTicketAssignedEmail(savedTicket);
+            eventBus.publish(new TicketAssigned(savedTicket.getId(), null, savedTicket.getAssignee().getId(), creator.getId()));
         }
         
         return savedTicket;
     }
 
+    /**
+     * Read path: falls back to the archive, returning a detached read-only copy for archived tickets.
+     */
     public Ticket getTicketById(Long id) {
-        return ticketRepository.findById(id)
+        return readCoalescer.ticket(id, () -> ticketRepository.findWithPeopleById(id).map(Ticket::snapshot)
+                .or(() -> ticketArchiveService.findArchivedTicket(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + id)));
+    }
+
+    /**
+     * Whether the ticket exists, live or archived, and whether the user may see it, without loading the
+     * ticket. Lets read and comment paths reject probes for other users' tickets at the cost of an index lookup.
+     */
+    public TicketAccess getAccess(Long id, UserPrincipal user) {
+        return ticketRepository.findAccess(id, user.getId(), user.getRole())
+                .or(() -> archivedTicketRepository.findAccess(id, user.getId(), user.getRole()))
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + id));
     }
 
+    /**
+     * Write path: only live tickets can be modified.
+     */
+    public Ticket getActiveTicketById(Long id) {
+        return ticketRepository.findById(id)
+                .orElseThrow(() -> archivedTicketRepository.existsById(id)
+                        ? new IllegalArgumentException("Ticket #" + id + " is archived and can no longer be modified")
+                        : new ResourceNotFoundException("Ticket not found with id: " + id));
+    }
+
     public Page<Ticket> getAllTickets(Pageable pageable) {
         return ticketRepository.findAll(pageable);
     }
 
-    public Page<Ticket> getTicketsByCreator(User creator, Pageable pageable) {
-        return ticketRepository.findByCreator(creator, pageable);
+    public Page<Ticket> getTicketsByCreator(UserPrincipal creator, Pageable pageable) {
+        return ticketRepository.findByCreator(userService.getReference(creator.getId()), pageable);
     }
 
-    public Page<Ticket> getTicketsByAssignee(User assignee, Pageable pageable) {
-        return ticketRepository.findByAssignee(assignee, pageable);
+    public Page<Ticket> getTicketsByAssignee(UserPrincipal assignee, Pageable pageable) {
+        return ticketRepository.findByAssignee(userService.getReference(assignee.getId()), pageable);
     }
 
-    public Page<Ticket> getTicketsForUser(User user, Pageable pageable) {
+    public Page<Ticket> getTicketsForUser(UserPrincipal user, Pageable pageable) {
         if (user.getRole() == Role.USER) {
-            return ticketRepository.findByCreator(user, pageable);
+            return ticketRepository.findByCreator(userService.getReference(user.getId()), pageable);
         } else {
-            return ticketRepository.findByCreatorOrAssignee(user, pageable);
+            return ticketRepository.findByCreatorOrAssignee(userService.getReference(user.getId()), pageable);
         }
     }
 
@@ -82,12 +158,25 @@ public class TicketService {
         return ticketRepository.findByFilters(status, priority, assigneeId, search, pageable);
     }
 
-    public Page<Ticket> filterTicketsForUser(User creator, TicketStatus status, Priority priority, String search, Pageable pageable) {
-        return ticketRepository.findByCreatorAndFilters(creator, status, priority, search, pageable);
+    public Page<Ticket> filterTicketsForUser(UserPrincipal creator, TicketStatus status, Priority priority, String search, Pageable pageable) {
+        return ticketRepository.findByCreatorAndFilters(userService.getReference(creator.getId()), status, priority, search, pageable);
     }
 
-    public Ticket updateTicket(Long id, TicketRequest ticketRequest, User currentUser) {
-        Ticket ticket = getTicketById(id);
+    public Page<Ticket> filterTicketsIncludingArchived(TicketStatus status, Priority priority, Long assigneeId, String search, Pageable pageable) {
+        Page<Ticket> live = ticketRepository.findByFilters(status, priority, assigneeId, search, pageable);
+        return ticketArchiveService.appendArchived(live, pageable,
+                p -> archivedTicketRepository.findByFilters(status, priority, assigneeId, search, p));
+    }
+
+    public Page<Ticket> filterTicketsForUserIncludingArchived(UserPrincipal principal, TicketStatus status, Priority priority, String search, Pageable pageable) {
+        User creator = userService.getReference(principal.getId());
+        Page<Ticket> live = ticketRepository.findByCreatorAndFilters(creator, status, priority, search, pageable);
+        return ticketArchiveService.appendArchived(live, pageable,
+                p -> archivedTicketRepository.findByCreatorAndFilters(creator, status, priority, search, p));
+    }
+
+    public Ticket updateTicket(Long id, TicketRequest ticketRequest, UserPrincipal currentUser) {
+        Ticket ticket = getActiveTicketById(id);
         
         // Check permissions
         if (!canModifyTicket(ticket, currentUser)) {
@@ -98,11 +187,68 @@ public class TicketService {
         ticket.setDescription(ticketRequest.getDescription());
         ticket.setPriority(ticketRequest.getPriority());
 
-        return ticketRepository.save(ticket);
+        Ticket savedTicket = ticketRepository.save(ticket);
+        changeLog.record(ChangeType.TICKET_UPDATED, savedTicket, currentUser, details(
+                "subject", savedTicket.getSubject(),
+                "priority", savedTicket.getPriority()));
+        duplicateIndex.index(savedTicket);
+        cacheBus.publish(CacheTopic.TICKET, savedTicket.getId());
+        readCoalescer.changed(savedTicket.getId());
+        return savedTicket;
+    }
+
+    public List<DuplicateCandidate> getDuplicateCandidates(Long id) {
+        return duplicateIndex.findCandidates(getActiveTicketById(id));
     }
 
-    public Ticket assignTicket(Long id, Long assigneeId, User currentUser) {
-        Ticket ticket = getTicketById(id);
+    /**
+     * Closes each listed ticket as a duplicate of the primary one. Tickets already linked to a
+     * listed ticket are moved over to the primary, so links never chain.
+     */
+    public List<Ticket> linkDuplicates(Long primaryId, List<Long> duplicateIds, UserPrincipal currentUser) {
+        Ticket primary = getActiveTicketById(primaryId);
+        if (!canModifyTicket(primary, currentUser)) {
+            throw new AccessDeniedException("You don't have permission to modify this ticket");
+        }
+        if (primary.getDuplicateOfId() != null) {
+            throw new IllegalArgumentException("Ticket #" + primaryId + " is itself a duplicate of #" + primary.getDuplicateOfId());
+        }
+
+        List<Ticket> linked = new ArrayList<>();
+        for (Long duplicateId : new LinkedHashSet<>(duplicateIds)) {
+            if (duplicateId.equals(primaryId)) {
+                continue;
+            }
+            TicketStatusView current = getActiveStatusView(duplicateId);
+            if (!canUpdateTicketStatus(current, currentUser)) {
+                throw new AccessDeniedException("You don't have permission to close ticket #" + duplicateId);
+            }
+            TicketStatus oldStatus = current.status();
+            Ticket duplicate = oldStatus != TicketStatus.CLOSED
+                    ? transition(duplicateId, oldStatus, TicketStatus.CLOSED)
+                    : getActiveTicketById(duplicateId);
+            duplicate.setDuplicateOfId(primaryId);
+
+            Ticket savedTicket = ticketRepository.save(duplicate);
+            ticketRepository.repointDuplicates(duplicateId, primaryId);
+            changeLog.record(ChangeType.STATUS_CHANGED, savedTicket, currentUser, details(
+                    "from", oldStatus,
+                    "to", TicketStatus.CLOSED,
+                    "duplicateOf", primaryId));
+            duplicateIndex.unindex(duplicateId);
+            cacheBus.publish(CacheTopic.TICKET, duplicateId);
+            readCoalescer.changed(duplicateId);
+
+            if (oldStatus != TicketStatus.CLOSED) {
+                eventBus.publish(new StatusChanged(duplicateId, oldStatus, TicketStatus.CLOSED, currentUser.getId()));
+            }
+            linked.add(savedTicket);
+        }
+        return linked;
+    }
+
+    public Ticket assignTicket(Long id, Long assigneeId, UserPrincipal currentUser) {
+        Ticket ticket = getActiveTicketById(id);
         
         // Check permissions
         if (!canAssignTicket(ticket, currentUser)) {
@@ -121,40 +267,85 @@ public class TicketService {
 
         ticket.setAssignee(newAssignee);
         Ticket savedTicket = ticketRepository.save(ticket);
+        changeLog.record(ChangeType.TICKET_ASSIGNED, savedTicket, currentUser, details(
+                "from", oldAssignee != null ? oldAssignee.getId() : null,
+                "to", newAssignee != null ? newAssignee.getId() : null));
+        cacheBus.publish(CacheTopic.TICKET, savedTicket.getId());
+        readCoalescer.changed(savedTicket.getId());
         
-        // Send notification emails
-        if (newAssignee != null && !newAssignee.equals(oldAssignee)) {
-            emailService.sendTicketAssignedEmail(savedTicket);
+        if (newAssignee != null && (oldAssignee == null || !newAssignee.getId().equals(oldAssignee.getId()))) {
+            eventBus.publish(new TicketAssigned(savedTicket.getId(), oldAssignee != null ? oldAssignee.getId() : null,
+                    newAssignee.getId(), currentUser.getId()));
         }
         
         return savedTicket;
     }
 
-    public Ticket updateTicketStatus(Long id, TicketStatus status, User currentUser) {
-        Ticket ticket = getTicketById(id);
+    /**
+     * Moves the ticket from {@code expectedStatus}, or from its current status when none is given,
+     * to {@code status}. Fails with a conflict if another request changed the status first.
+     */
+    public Ticket updateTicketStatus(Long id, TicketStatus status, TicketStatus expectedStatus, UserPrincipal currentUser) {
+        if (status == null) {
+            throw new IllegalArgumentException("status is required");
+        }
+        TicketStatusView current = getActiveStatusView(id);
         
         // Check permissions
-        if (!canUpdateTicketStatus(ticket, currentUser)) {
+        if (!canUpdateTicketStatus(current, currentUser)) {
             throw new AccessDeniedException("You don't have permission to update this ticket status");
         }
 
-        TicketStatus oldStatus = ticket.getStatus();
-        ticket.setStatus(status);
-        Ticket savedTicket = ticketRepository.save(ticket);
-        
-        // Send notification emails
-        if (!status.equals(oldStatus)) {
-            emailService.sendTicketStatusChangedEmail(savedTicket, oldStatus);
+        TicketStatus oldStatus = expectedStatus != null ? expectedStatus : current.status();
+        if (oldStatus == status && current.status() == status) {
+            // Repeated request, already applied
+            return getActiveTicketById(id);
+        }
+        // Reopening takes back the resolution the analytics recorded, so read it before it is cleared
+        ResolutionSample reopened = status == TicketStatus.IN_PROGRESS
+                && (oldStatus == TicketStatus.RESOLVED || oldStatus == TicketStatus.CLOSED)
+                ? ticketRepository.findResolutionSampleById(id).orElse(null) : null;
+        Ticket savedTicket = transition(id, oldStatus, status);
+
+        changeLog.record(ChangeType.STATUS_CHANGED, savedTicket, currentUser, details(
+                "from", oldStatus,
+                "to", status));
+        duplicateIndex.index(savedTicket);
+        cacheBus.publish(CacheTopic.TICKET, savedTicket.getId());
+        readCoalescer.changed(savedTicket.getId());
+        eventBus.publish(new StatusChanged(savedTicket.getId(), oldStatus, status, currentUser.getId()));
+
+        if (reopened != null) {
+            ticketAnalyticsService.retractResolution(reopened);
+        }
+        if (status == TicketStatus.RESOLVED) {
+            ticketAnalyticsService.recordResolution(savedTicket);
         }
         
         return savedTicket;
     }
 
-    public Ticket rateTicket(Long id, Integer rating, String feedback, User currentUser) {
-        Ticket ticket = getTicketById(id);
+    private Ticket transition(Long id, TicketStatus from, TicketStatus to) {
+        if (!from.canTransitionTo(to)) {
+            throw new TicketStatusConflictException("Ticket #" + id + " cannot move from " + from + " to " + to);
+        }
+        return ticketRepository.transitionStatus(id, from.name(), to.name(), LocalDateTime.now())
+                .orElseThrow(() -> new TicketStatusConflictException("Ticket #" + id + " is "
+                        + getActiveStatusView(id).status() + ", not " + from + "; it was changed by someone else"));
+    }
+
+    private TicketStatusView getActiveStatusView(Long id) {
+        return ticketRepository.findStatusViewById(id)
+                .orElseThrow(() -> archivedTicketRepository.existsById(id)
+                        ? new IllegalArgumentException("Ticket #" + id + " is archived and can no longer be modified")
+                        : new ResourceNotFoundException("Ticket not found with id: " + id));
+    }
+
+    public Ticket rateTicket(Long id, Integer rating, String feedback, UserPrincipal currentUser) {
+        Ticket ticket = getActiveTicketById(id);
         
         // Only ticket creator can rate
-        if (!ticket.getCreator().equals(currentUser)) {
+        if (!currentUser.is(ticket.getCreator())) {
             throw new AccessDeniedException("Only ticket creator can rate the resolution");
         }
         
@@ -163,31 +354,33 @@ public class TicketService {
             throw new IllegalArgumentException("Can only rate resolved or closed tickets");
         }
 
+        Integer previousRating = ticket.getRating();
         ticket.setRating(rating);
         ticket.setFeedback(feedback);
         
-        return ticketRepository.save(ticket);
-    }
-
-    private boolean canModifyTicket(Ticket ticket, User user) {
-        return user.getRole() == Role.ADMIN || 
-               ticket.getCreator().equals(user) ||
-               (user.getRole() == Role.SUPPORT_AGENT && ticket.getAssignee() != null && ticket.getAssignee().equals(user));
+        Ticket savedTicket = ticketRepository.save(ticket);
+        changeLog.record(ChangeType.TICKET_RATED, savedTicket, currentUser, details(
+                "rating", rating));
+        ticketAnalyticsService.recordRating(savedTicket, previousRating);
+        cacheBus.publish(CacheTopic.TICKET, savedTicket.getId());
+        readCoalescer.changed(savedTicket.getId());
+        
+        return savedTicket;
     }
 
-    private boolean canAssignTicket(Ticket ticket, User user) {
+    private boolean canModifyTicket(Ticket ticket, UserPrincipal user) {
         return user.getRole() == Role.ADMIN || 
-               (user.getRole() == Role.SUPPORT_AGENT && (ticket.getAssignee() == null || ticket.getAssignee().equals(user)));
+               user.is(ticket.getCreator()) ||
+               (user.getRole() == Role.SUPPORT_AGENT && user.is(ticket.getAssignee()));
     }
 
-    private boolean canUpdateTicketStatus(Ticket ticket, User user) {
+    private boolean canAssignTicket(Ticket ticket, UserPrincipal user) {
         return user.getRole() == Role.ADMIN || 
-               (user.getRole() == Role.SUPPORT_AGENT && ticket.getAssignee() != null && ticket.getAssignee().equals(user));
+               (user.getRole() == Role.SUPPORT_AGENT && (ticket.getAssignee() == null || user.is(ticket.getAssignee())));
     }
 
-    public boolean canViewTicket(Ticket ticket, User user) {
+    private boolean canUpdateTicketStatus(TicketStatusView ticket, UserPrincipal user) {
         return user.getRole() == Role.ADMIN || 
-               ticket.getCreator().equals(user) ||
-               (ticket.getAssignee() != null && ticket.getAssignee().equals(user));
+               (user.getRole() == Role.SUPPORT_AGENT && user.getId().equals(ticket.assigneeId()));
     }
 }
\ No newline at end of file
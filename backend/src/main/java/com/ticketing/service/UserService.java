@@ -1,11 +1,18 @@
 package com.ticketing.service;
 
+import com.ticketing.cache.CacheInvalidationBus;
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.dto.AgentRosterEntry;
 import com.ticketing.dto.RegisterRequest;
 import com.ticketing.exception.ResourceNotFoundException;
 import com.ticketing.exception.UserAlreadyExistsException;
 import com.ticketing.model.Role;
+import com.ticketing.model.TicketStatus;
 import com.ticketing.model.User;
 import com.ticketing.repository.UserRepository;
+import com.ticketing.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,6 +34,15 @@ public class UserService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private UserTypeaheadIndex userTypeaheadIndex;
+
+    @Autowired
+    private CacheInvalidationBus cacheBus;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
     public User createUser(RegisterRequest registerRequest) {
         if (userRepository.existsByUsername(registerRequest.getUsername())) {
             throw new UserAlreadyExistsException("Username is already taken!");
@@ -46,6 +62,8 @@ public class UserService {
         );
 
         User savedUser = userRepository.save(user);
+        userTypeaheadIndex.index(savedUser);
+        cacheBus.publish(CacheTopic.USER, savedUser.getId());
         
         // Send welcome email
         emailService.sendWelcomeEmail(savedUser);
@@ -58,6 +76,13 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
+    /**
+     * A lazy reference for setting associations, without loading the user.
+     */
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
@@ -67,6 +92,7 @@ public class UserService {
         return userRepository.findAll(pageable);
     }
 
+    @UsePool(DataSourcePool.REPORTING)
     public Page<User> searchUsers(String search, Pageable pageable) {
         return userRepository.findBySearchTerm(search, pageable);
     }
@@ -79,6 +105,12 @@ public class UserService {
         return userRepository.findActiveUsersByRole(Role.SUPPORT_AGENT);
     }
 
+    @UsePool(DataSourcePool.REPORTING)
+    @Transactional(readOnly = true)
+    public List<AgentRosterEntry> getAgentRoster(Role role) {
+        return userRepository.findAgentRoster(role, TicketStatus.OPEN, TicketStatus.IN_PROGRESS);
+    }
+
     public User updateUser(Long id, RegisterRequest updateRequest) {
         User user = getUserById(id);
         
@@ -102,24 +134,36 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userTypeaheadIndex.index(savedUser);
+        principalCache.evict(savedUser.getId());
+        cacheBus.publish(CacheTopic.USER, savedUser.getId());
+        return savedUser;
     }
 
     public User updateUserRole(Long id, Role role) {
         User user = getUserById(id);
         user.setRole(role);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userTypeaheadIndex.index(savedUser);
+        principalCache.evict(savedUser.getId());
+        cacheBus.publish(CacheTopic.USER, savedUser.getId());
+        return savedUser;
     }
 
     public void deleteUser(Long id) {
         User user = getUserById(id);
         user.setEnabled(false);
-        userRepository.save(user);
+        userTypeaheadIndex.index(userRepository.save(user));
+        principalCache.evict(id);
+        cacheBus.publish(CacheTopic.USER, id);
     }
 
     public void enableUser(Long id) {
         User user = getUserById(id);
         user.setEnabled(true);
-        userRepository.save(user);
+        userTypeaheadIndex.index(userRepository.save(user));
+        principalCache.evict(id);
+        cacheBus.publish(CacheTopic.USER, id);
     }
 }
\ No newline at end of file
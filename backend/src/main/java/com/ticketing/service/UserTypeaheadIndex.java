@@ -0,0 +1,239 @@
+package com.ticketing.service;
+
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.cache.LocalCache;
+import com.ticketing.config.DataSourcePool;
+import com.ticketing.config.UsePool;
+import com.ticketing.dto.UserSuggestion;
+import com.ticketing.model.Role;
+import com.ticketing.model.User;
+import com.ticketing.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * In-memory user lookup for typeahead. A skip list of lowercased terms (username, email, first, last
+ * and full name) answers prefix queries, and trigram postings answer the substring matches that
+ * {@code UserRepository.findBySearchTerm} finds with LIKE. Prefix matches are returned first.
+ */
+@Service
+public class UserTypeaheadIndex implements LocalCache {
+    private static final Logger logger = LoggerFactory.getLogger(UserTypeaheadIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+    private static final char TERM_SEPARATOR = '\u0000';
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.typeahead.max-results:50}")
+    private int maxResults;
+
+    // Replaced whole by rebuild, so searches never see a half-filled index
+    private volatile Index index = new Index();
+    private Timer searchTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        searchTimer = Timer.builder("ticketing.typeahead.search").register(meterRegistry);
+    }
+
+    @UsePool(DataSourcePool.BACKGROUND)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Index rebuilt = new Index();
+        try (Stream<UserSuggestion> stream = userRepository.streamSuggestions()) {
+            stream.forEach(rebuilt::put);
+        }
+        index = rebuilt;
+        logger.info("Indexed {} users for typeahead", rebuilt.entries.size());
+    }
+
+    public void index(User user) {
+        UserSuggestion suggestion = new UserSuggestion(user.getId(), user.getUsername(), user.getEmail(),
+                user.getFirstName(), user.getLastName(), user.getRole(), user.isEnabled());
+        afterCommit(() -> put(suggestion));
+    }
+
+    @Override
+    @UsePool(DataSourcePool.BACKGROUND)
+    public void onInvalidation(CacheTopic topic, String key) {
+        if (topic == CacheTopic.USER) {
+            userRepository.findSuggestionById(Long.valueOf(key)).ifPresent(this::put);
+        }
+    }
+
+    @Override
+    @UsePool(DataSourcePool.BACKGROUND)
+    @Transactional(readOnly = true)
+    public void flush() {
+        rebuild();
+    }
+
+    public List<UserSuggestion> search(String query, Role role, Boolean enabled, int limit) {
+        long started = System.nanoTime();
+        Index current = index;
+        String normalized = normalize(query);
+        int max = Math.max(1, Math.min(limit, maxResults));
+        Set<Long> matched = new LinkedHashSet<>();
+        List<UserSuggestion> results = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return results;
+        }
+
+        for (Long id : current.terms.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+            if (results.size() >= max) {
+                break;
+            }
+            collect(current, id, role, enabled, matched, results);
+        }
+
+        if (results.size() < max && normalized.length() >= GRAM_LENGTH) {
+            List<UserSuggestion> infix = new ArrayList<>();
+            for (Long id : current.smallestPosting(normalized)) {
+                Entry entry = current.entries.get(id);
+                if (entry != null && !matched.contains(id) && entry.contains(normalized)) {
+                    collect(current, id, role, enabled, matched, infix);
+                }
+            }
+            infix.sort(Comparator.comparing(UserSuggestion::username));
+            results.addAll(infix.subList(0, Math.min(infix.size(), max - results.size())));
+        }
+
+        searchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return results;
+    }
+
+    private static void collect(Index index, Long id, Role role, Boolean enabled, Set<Long> matched,
+                                List<UserSuggestion> results) {
+        Entry entry = index.entries.get(id);
+        if (entry == null || !matched.add(id)) {
+            return;
+        }
+        UserSuggestion suggestion = entry.suggestion();
+        if ((role == null || suggestion.role() == role) && (enabled == null || suggestion.enabled() == enabled)) {
+            results.add(suggestion);
+        }
+    }
+
+    // Writes are rare (user administration) and serialized with rebuild, so none lands in an index being replaced
+    private synchronized void put(UserSuggestion suggestion) {
+        index.put(suggestion);
+    }
+
+    private static List<String> termsOf(UserSuggestion suggestion) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String value : new String[] {suggestion.username(), suggestion.email(), suggestion.firstName(),
+                suggestion.lastName(), suggestion.firstName() + " " + suggestion.lastName()}) {
+            String term = normalize(value);
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    private static Set<String> grams(String term) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Searches read the concurrent maps without locking
+    private static final class Index {
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        // "term\0id" -> id, so equal terms of different users stay distinct and sorted
+        private final ConcurrentSkipListMap<String, Long> terms = new ConcurrentSkipListMap<>();
+        private final Map<String, Set<Long>> grams = new ConcurrentHashMap<>();
+
+        void put(UserSuggestion suggestion) {
+            Long id = suggestion.id();
+            Entry previous = entries.get(id);
+            if (previous != null) {
+                for (String term : previous.terms()) {
+                    terms.remove(term + TERM_SEPARATOR + id);
+                    for (String gram : grams(term)) {
+                        grams.computeIfPresent(gram, (key, posting) -> {
+                            posting.remove(id);
+                            return posting.isEmpty() ? null : posting;
+                        });
+                    }
+                }
+            }
+
+            Entry entry = new Entry(suggestion, termsOf(suggestion));
+            for (String term : entry.terms()) {
+                terms.put(term + TERM_SEPARATOR + id, id);
+                for (String gram : grams(term)) {
+                    grams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+                }
+            }
+            entries.put(id, entry);
+        }
+
+        Set<Long> smallestPosting(String query) {
+            Set<Long> smallest = null;
+            for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                Set<Long> posting = grams.get(query.substring(i, i + GRAM_LENGTH));
+                if (posting == null) {
+                    return Set.of();
+                }
+                if (smallest == null || posting.size() < smallest.size()) {
+                    smallest = posting;
+                }
+            }
+            return smallest != null ? smallest : Set.of();
+        }
+    }
+
+    private record Entry(UserSuggestion suggestion, List<String> terms) {
+        boolean contains(String query) {
+            for (String term : terms) {
+                if (term.contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ticketing.service;
+
+import com.ticketing.model.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Sends welcome emails for bulk-provisioned users from one thread at a fixed rate, so onboarding
+ * thousands of accounts neither floods the SMTP relay nor fills the shared async executor.
+ */
+@Service
+public class WelcomeEmailQueue {
+    private static final Logger logger = LoggerFactory.getLogger(WelcomeEmailQueue.class);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.mail.bulk-rate-per-second:5}")
+    private int ratePerSecond;
+
+    @Value("${app.mail.bulk-queue-capacity:50000}")
+    private int queueCapacity;
+
+    private BlockingQueue<User> queue;
+    private ScheduledExecutorService sender;
+
+    @PostConstruct
+    void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        sender = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "welcome-email");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender.scheduleWithFixedDelay(this::sendNext, 1000, Math.max(1, 1000 / Math.max(1, ratePerSecond)), TimeUnit.MILLISECONDS);
+        Gauge.builder("ticketing.mail.welcome.queued", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns how many users were queued; the rest are dropped when the queue is full.
+     */
+    public int enqueue(List<User> users) {
+        int queued = 0;
+        for (User user : users) {
+            if (!queue.offer(user)) {
+                logger.warn("Welcome email queue full, dropped {} of {} emails", users.size() - queued, users.size());
+                break;
+            }
+            queued++;
+        }
+        return queued;
+    }
+
+    private void sendNext() {
+        User user = queue.poll();
+        if (user != null) {
+            emailService.deliverWelcomeEmail(user);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+        if (!queue.isEmpty()) {
+            logger.warn("Discarding {} queued welcome emails on shutdown", queue.size());
+        }
+    }
+}
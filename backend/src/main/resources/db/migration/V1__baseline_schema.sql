@@ -0,0 +1,52 @@
+-- Schema as created by hibernate.ddl-auto before migrations were introduced. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate), so it only runs against empty databases.
+-- Tables added since then belong in later migrations, which also run against baselined databases.
+
+CREATE TABLE users (
+    id          BIGSERIAL PRIMARY KEY,
+    username    VARCHAR(255) UNIQUE,
+    email       VARCHAR(255) UNIQUE,
+    password    VARCHAR(255),
+    first_name  VARCHAR(255),
+    last_name   VARCHAR(255),
+    role        VARCHAR(255) CHECK (role IN ('USER', 'SUPPORT_AGENT', 'ADMIN')),
+    enabled     BOOLEAN NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE tickets (
+    id           BIGSERIAL PRIMARY KEY,
+    subject      VARCHAR(255),
+    description  TEXT,
+    status       VARCHAR(255) CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED')),
+    priority     VARCHAR(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    creator_id   BIGINT NOT NULL REFERENCES users,
+    assignee_id  BIGINT REFERENCES users,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    resolved_at  TIMESTAMP(6),
+    closed_at    TIMESTAMP(6),
+    rating       INTEGER,
+    feedback     TEXT
+);
+
+CREATE TABLE comments (
+    id          BIGSERIAL PRIMARY KEY,
+    content     TEXT,
+    ticket_id   BIGINT NOT NULL REFERENCES tickets,
+    author_id   BIGINT NOT NULL REFERENCES users,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE attachments (
+    id            BIGSERIAL PRIMARY KEY,
+    file_name     VARCHAR(255),
+    file_path     VARCHAR(255),
+    content_type  VARCHAR(255),
+    file_size     BIGINT,
+    ticket_id     BIGINT NOT NULL REFERENCES tickets,
+    uploaded_by   BIGINT NOT NULL REFERENCES users,
+    uploaded_at   TIMESTAMP(6)
+);
@@ -0,0 +1,74 @@
+-- Refresh tokens, the archive tables and the change log. IF NOT EXISTS because databases that ran
+-- with hibernate.ddl-auto=update before migrations were introduced may already have them.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          BIGSERIAL PRIMARY KEY,
+    token_hash  VARCHAR(64) NOT NULL UNIQUE,
+    family_id   VARCHAR(36) NOT NULL,
+    user_id     BIGINT NOT NULL REFERENCES users,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    created_at  TIMESTAMP(6),
+    revoked     BOOLEAN NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+
+CREATE TABLE IF NOT EXISTS archived_tickets (
+    id           BIGINT PRIMARY KEY,
+    subject      VARCHAR(255),
+    description  TEXT,
+    status       VARCHAR(255) CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED')),
+    priority     VARCHAR(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    creator_id   BIGINT NOT NULL REFERENCES users,
+    assignee_id  BIGINT REFERENCES users,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    resolved_at  TIMESTAMP(6),
+    closed_at    TIMESTAMP(6),
+    rating       INTEGER,
+    feedback     TEXT,
+    archived_at  TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_archived_tickets_creator_id ON archived_tickets (creator_id);
+CREATE INDEX IF NOT EXISTS idx_archived_tickets_assignee_id ON archived_tickets (assignee_id);
+CREATE INDEX IF NOT EXISTS idx_archived_tickets_closed_at ON archived_tickets (closed_at);
+
+CREATE TABLE IF NOT EXISTS archived_comments (
+    id          BIGINT PRIMARY KEY,
+    content     TEXT,
+    ticket_id   BIGINT NOT NULL,
+    author_id   BIGINT NOT NULL REFERENCES users,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_archived_comments_ticket_id ON archived_comments (ticket_id);
+
+CREATE TABLE IF NOT EXISTS archived_attachments (
+    id            BIGINT PRIMARY KEY,
+    file_name     VARCHAR(255),
+    file_path     VARCHAR(255),
+    content_type  VARCHAR(255),
+    file_size     BIGINT,
+    ticket_id     BIGINT NOT NULL,
+    uploaded_by   BIGINT NOT NULL REFERENCES users,
+    uploaded_at   TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_archived_attachments_ticket_id ON archived_attachments (ticket_id);
+
+CREATE TABLE IF NOT EXISTS ticket_changes (
+    id                 BIGSERIAL PRIMARY KEY,
+    type               VARCHAR(32) NOT NULL CHECK (type IN ('TICKET_CREATED', 'TICKET_UPDATED', 'TICKET_ASSIGNED',
+                           'STATUS_CHANGED', 'TICKET_RATED', 'COMMENT_ADDED', 'COMMENT_UPDATED', 'COMMENT_DELETED')),
+    ticket_id          BIGINT NOT NULL,
+    ticket_creator_id  BIGINT NOT NULL,
+    comment_id         BIGINT,
+    actor_id           BIGINT,
+    details            TEXT,
+    created_at         TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_changes_creator_seq ON ticket_changes (ticket_creator_id, id);
+CREATE INDEX IF NOT EXISTS idx_ticket_changes_ticket_seq ON ticket_changes (ticket_id, id);
@@ -0,0 +1,31 @@
+-- Indexes for the repository query shapes, checked by the plancheck profile.
+-- Built CONCURRENTLY so existing installations keep accepting writes; see V3__query_indexes.sql.conf.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- My tickets / assigned tickets / workload counts, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_creator_created_at ON tickets (creator_id, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_assignee_status ON tickets (assignee_id, status);
+
+-- Status and priority filters, plus the default createdAt sort of unfiltered listings
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_status_priority_created_at ON tickets (status, priority, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_priority_created_at ON tickets (priority, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_created_at ON tickets (created_at);
+
+-- Analytics rebuild and archival scans only touch finished tickets
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_resolved_at ON tickets (resolved_at) WHERE resolved_at IS NOT NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_closed_at ON tickets (closed_at) WHERE status = 'CLOSED';
+
+-- LOWER(col) LIKE '%term%' searches
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_subject_trgm ON tickets USING gin (lower(subject) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_description_trgm ON tickets USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (lower(last_name) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role ON users (role);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_ticket_created_at ON comments (ticket_id, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attachments_ticket_id ON attachments (ticket_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
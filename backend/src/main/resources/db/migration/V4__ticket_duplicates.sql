@@ -0,0 +1,4 @@
+-- No foreign key: archival moves a primary ticket out of the live table independently of its duplicates
+ALTER TABLE tickets ADD COLUMN duplicate_of_id BIGINT;
+
+CREATE INDEX idx_tickets_duplicate_of_id ON tickets (duplicate_of_id) WHERE duplicate_of_id IS NOT NULL;
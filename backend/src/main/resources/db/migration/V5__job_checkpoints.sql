@@ -0,0 +1,16 @@
+-- Progress of sharded background jobs, see ClusterScheduler.
+
+CREATE TABLE IF NOT EXISTS job_checkpoints (
+    job_name           VARCHAR(100) NOT NULL,
+    shard              INTEGER NOT NULL,
+    position           BIGINT NOT NULL,
+    items_processed    BIGINT NOT NULL,
+    node_name          VARCHAR(100),
+    last_started_at    TIMESTAMP(6),
+    last_completed_at  TIMESTAMP(6),
+    last_duration_ms   BIGINT,
+    PRIMARY KEY (job_name, shard)
+);
+
+-- Purge of expired refresh tokens. Built CONCURRENTLY, see V5__job_checkpoints.sql.conf.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,46 @@
+-- Comment activity kept on the ticket row for list views, maintained by CommentService.
+-- Non-transactional like V3, so the index is built CONCURRENTLY; see V6__ticket_activity_summary.sql.conf.
+
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS comment_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS last_activity_at TIMESTAMP(6) NOT NULL DEFAULT now();
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS last_commenter_id BIGINT REFERENCES users;
+
+ALTER TABLE archived_tickets ADD COLUMN IF NOT EXISTS comment_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE archived_tickets ADD COLUMN IF NOT EXISTS last_activity_at TIMESTAMP(6) NOT NULL DEFAULT now();
+ALTER TABLE archived_tickets ADD COLUMN IF NOT EXISTS last_commenter_id BIGINT REFERENCES users;
+
+UPDATE tickets t
+SET comment_count = COALESCE(s.comment_count, 0),
+    last_activity_at = COALESCE(s.last_comment_at, t.created_at, t.last_activity_at),
+    last_commenter_id = s.author_id
+FROM tickets base
+LEFT JOIN (
+    SELECT DISTINCT ON (ticket_id) ticket_id, author_id,
+           COUNT(*) OVER (PARTITION BY ticket_id) AS comment_count,
+           created_at AS last_comment_at
+    FROM comments
+    ORDER BY ticket_id, created_at DESC NULLS LAST, id DESC
+) s ON s.ticket_id = base.id
+WHERE t.id = base.id;
+
+UPDATE archived_tickets t
+SET comment_count = COALESCE(s.comment_count, 0),
+    last_activity_at = COALESCE(s.last_comment_at, t.created_at, t.last_activity_at),
+    last_commenter_id = s.author_id
+FROM archived_tickets base
+LEFT JOIN (
+    SELECT DISTINCT ON (ticket_id) ticket_id, author_id,
+           COUNT(*) OVER (PARTITION BY ticket_id) AS comment_count,
+           created_at AS last_comment_at
+    FROM archived_comments
+    ORDER BY ticket_id, created_at DESC NULLS LAST, id DESC
+) s ON s.ticket_id = base.id
+WHERE t.id = base.id;
+
+-- "Most recently active" sort
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_last_activity_at ON tickets (last_activity_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_archived_tickets_last_activity_at ON archived_tickets (last_activity_at);
+
+-- The backfill rewrote every row; refresh statistics before the planner sees the new columns
+ANALYZE tickets;
+ANALYZE archived_tickets;
@@ -0,0 +1,2 @@
+-- Archived duplicates keep their link to the primary ticket, see V4
+ALTER TABLE archived_tickets ADD COLUMN IF NOT EXISTS duplicate_of_id BIGINT;
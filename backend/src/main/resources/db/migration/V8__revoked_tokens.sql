@@ -0,0 +1,7 @@
+-- Access tokens revoked before they expire (logout), reloaded by each node's TokenRevocationList
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti         VARCHAR(36) PRIMARY KEY,
+    expires_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,77 @@
+package com.ticketing.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.exception.GlobalExceptionHandler;
+import com.ticketing.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SparseFieldsetAdviceTest {
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SparseFieldsetAdvice advice = new SparseFieldsetAdvice();
+        ReflectionTestUtils.setField(advice, "objectMapper", new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(new SampleController())
+                .setControllerAdvice(advice, new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void trimsSuccessfulResults() throws Exception {
+        mockMvc.perform(get("/ticket").param("fields", "id,creator.username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.creator.username").value("casey"))
+                .andExpect(jsonPath("$.subject").doesNotExist())
+                .andExpect(jsonPath("$.creator.email").doesNotExist());
+    }
+
+    @Test
+    void keepsExceptionHandlerBodiesWhole() throws Exception {
+        mockMvc.perform(get("/missing").param("fields", "id,subject"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Ticket not found"));
+    }
+
+    @Test
+    void keepsErrorResultsWhole() throws Exception {
+        mockMvc.perform(get("/conflict").param("fields", "id"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Ticket was changed"));
+    }
+
+    @RestController
+    static class SampleController {
+        @GetMapping("/ticket")
+        Map<String, Object> ticket() {
+            return Map.of("id", 1, "subject", "Printer offline",
+                    "creator", Map.of("username", "casey", "email", "casey@example.com"));
+        }
+
+        @GetMapping("/missing")
+        Map<String, Object> missing() {
+            throw new ResourceNotFoundException("Ticket not found");
+        }
+
+        @GetMapping("/conflict")
+        ResponseEntity<Map<String, Object>> conflict() {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Ticket was changed"));
+        }
+    }
+}
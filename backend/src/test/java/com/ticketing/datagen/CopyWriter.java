@@ -0,0 +1,106 @@
+package com.ticketing.datagen;
+
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Streams rows to a {@code COPY ... FROM STDIN} in PostgreSQL's text format, buffering them so the
+ * driver sends large messages instead of one per row.
+ */
+public class CopyWriter {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD * 2);
+    private boolean firstField = true;
+    private long rows;
+
+    public CopyWriter(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    public CopyWriter text(String value) {
+        separate();
+        if (value == null) {
+            buffer.append("\\N");
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                case '\t' -> buffer.append("\\t");
+                default -> buffer.append(c);
+            }
+        }
+        return this;
+    }
+
+    public CopyWriter number(Long value) {
+        separate();
+        buffer.append(value != null ? value.toString() : "\\N");
+        return this;
+    }
+
+    public CopyWriter number(long value) {
+        separate();
+        buffer.append(value);
+        return this;
+    }
+
+    public CopyWriter bool(boolean value) {
+        separate();
+        buffer.append(value ? 't' : 'f');
+        return this;
+    }
+
+    public CopyWriter timestamp(LocalDateTime value) {
+        separate();
+        if (value != null) {
+            TIMESTAMP.formatTo(value, buffer);
+        } else {
+            buffer.append("\\N");
+        }
+        return this;
+    }
+
+    public void endRow() throws SQLException {
+        buffer.append('\n');
+        firstField = true;
+        rows++;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends the remaining rows and completes the COPY, returning the number of rows written.
+     */
+    public long finish() throws SQLException {
+        flush();
+        copyIn.endCopy();
+        return rows;
+    }
+
+    private void separate() {
+        if (!firstField) {
+            buffer.append('\t');
+        }
+        firstField = false;
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.ticketing.datagen;
+
+import com.ticketing.service.SlaPolicy;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a large synthetic dataset into {@code users}, {@code tickets}, {@code comments} and
+ * {@code attachments} with {@code COPY}, in batches spread over several connections. Ticket and
+ * user ids are reserved from their sequences up front so batches can reference each other without
+ * lookups. Non-unique indexes are dropped while a table loads and rebuilt afterwards, since
+ * maintaining the trigram indexes row by row costs far more than building them once. Each dropped
+ * definition is recorded in {@code datagen_dropped_indexes} until its rebuild commits, and the next
+ * run recreates whatever an interrupted one left behind. Generated users share one password and a
+ * {@code datagen_} username prefix; attachment rows point at files that do not exist.
+ *
+ * <p>Started by {@link DatasetGeneratorApplication}.
+ */
+public class DatasetGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String COPY_USERS = "COPY users (id, username, email, password, first_name, last_name, role, " +
+            "enabled, created_at, updated_at) FROM STDIN";
+    private static final String COPY_TICKETS = "COPY tickets (id, subject, description, status, priority, creator_id, " +
+            "assignee_id, created_at, updated_at, resolved_at, closed_at, rating, comment_count, last_activity_at, " +
+            "last_commenter_id) FROM STDIN";
+    private static final String COPY_COMMENTS = "COPY comments (content, ticket_id, author_id, created_at, updated_at) FROM STDIN";
+    private static final String COPY_ATTACHMENTS = "COPY attachments (file_name, file_path, content_type, file_size, " +
+            "ticket_id, uploaded_by, uploaded_at) FROM STDIN";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SlaPolicy slaPolicy;
+
+    @Value("${app.datagen.username-prefix:datagen}")
+    private String usernamePrefix;
+
+    @Value("${app.datagen.password:datagen123}")
+    private String password;
+
+    @Value("${app.datagen.admins:5}")
+    private int admins;
+
+    @Value("${app.datagen.agents:500}")
+    private int agents;
+
+    @Value("${app.datagen.users:100000}")
+    private int users;
+
+    @Value("${app.datagen.tickets:10000000}")
+    private long tickets;
+
+    @Value("${app.datagen.comments:50000000}")
+    private long comments;
+
+    @Value("${app.datagen.max-comments-per-ticket:2000}")
+    private int maxCommentsPerTicket;
+
+    @Value("${app.datagen.attachment-ratio:0.15}")
+    private double attachmentRatio;
+
+    @Value("${app.datagen.history-days:1095}")
+    private int historyDays;
+
+    @Value("${app.datagen.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.datagen.batch-size:200000}")
+    private int batchSize;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.rebuild-indexes:true}")
+    private boolean rebuildIndexes;
+
+    @Value("${app.datagen.maintenance-work-mem:512MB}")
+    private String maintenanceWorkMem;
+
+    public void generate() throws Exception {
+        if (agents < 1 || users < 1) {
+            throw new IllegalArgumentException("app.datagen.agents and app.datagen.users must be at least 1");
+        }
+        restoreDroppedIndexes();
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username LIKE ?",
+                Integer.class, usernamePrefix + "\\_%");
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Found " + existing + " users named " + usernamePrefix +
+                    "_*; choose another app.datagen.username-prefix or use a fresh database");
+        }
+
+        long started = System.currentTimeMillis();
+        double meanComments = tickets > 0 ? (double) comments / tickets : 0;
+        SyntheticDataset dataset = new SyntheticDataset(seed, usernamePrefix, passwordEncoder.encode(password),
+                admins, agents, users, meanComments, maxCommentsPerTicket, attachmentRatio, historyDays,
+                LocalDateTime.now(), reserveIds("users", admins + agents + users), reserveIds("tickets", tickets), slaPolicy);
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            copy(executor, "users", COPY_USERS, dataset.totalUsers(), batchSize,
+                    (index, out) -> dataset.writeUser((int) index, out));
+            copy(executor, "tickets", COPY_TICKETS, tickets, batchSize, dataset::writeTicket);
+            // Batches of tickets, sized so a comment batch holds about batch-size rows
+            copy(executor, "comments", COPY_COMMENTS, tickets, Math.max(1, (int) (batchSize / Math.max(1, meanComments))),
+                    dataset::writeComments);
+            copy(executor, "attachments", COPY_ATTACHMENTS, tickets, batchSize, dataset::writeAttachments);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (String table : List.of("users", "tickets", "comments", "attachments")) {
+            jdbcTemplate.execute("VACUUM ANALYZE " + table);
+        }
+        logger.info("Generated dataset in {} s", (System.currentTimeMillis() - started) / 1000);
+    }
+
+    // Recreates indexes that an earlier run dropped but did not get to rebuild
+    private void restoreDroppedIndexes() throws Exception {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS datagen_dropped_indexes (index_name TEXT PRIMARY KEY, " +
+                "table_name TEXT NOT NULL, definition TEXT NOT NULL)");
+        List<String[]> leftovers = jdbcTemplate.query("SELECT table_name, definition FROM datagen_dropped_indexes " +
+                "ORDER BY table_name", (rs, rowNum) -> new String[] {rs.getString(1), rs.getString(2)});
+        if (leftovers.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (String[] leftover : leftovers) {
+                logger.warn("Restoring index dropped by an interrupted run: {}", leftover[1]);
+            }
+            rebuild(executor, String.join(", ", leftovers.stream().map(leftover -> leftover[0]).distinct().toList()),
+                    leftovers.stream().map(leftover -> leftover[1]).toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Moves the sequence past count ids in one statement and returns the first of them
+    private long reserveIds(String table, long count) {
+        if (count == 0) {
+            return 0;
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT setval(pg_get_serial_sequence(?, 'id'), nextval(pg_get_serial_sequence(?, 'id')) + ? - 1) - ? + 1",
+                Long.class, table, table, count, count);
+    }
+
+    private void copy(ExecutorService executor, String table, String sql, long count, int batch, RowWriter writer)
+            throws Exception {
+        List<String> indexes = rebuildIndexes ? dropSecondaryIndexes(table) : List.of();
+        try {
+            copyBatches(executor, table, sql, count, batch, writer);
+        } finally {
+            rebuild(executor, table, indexes);
+        }
+    }
+
+    private void copyBatches(ExecutorService executor, String table, String sql, long count, int batch, RowWriter writer)
+            throws Exception {
+        long started = System.currentTimeMillis();
+        AtomicLong nextIndex = new AtomicLong();
+        AtomicLong done = new AtomicLong();
+        AtomicLong rows = new AtomicLong();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(executor.submit(() -> {
+                long from;
+                while ((from = nextIndex.getAndAdd(batch)) < count) {
+                    long to = Math.min(count, from + batch);
+                    rows.addAndGet(copyBatch(sql, from, to, writer));
+                    logger.info("{}: {}/{} source rows", table, done.addAndGet(to - from), count);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        long elapsed = Math.max(1, System.currentTimeMillis() - started);
+        logger.info("Copied {} rows into {} in {} ms ({} rows/s)", rows.get(), table, elapsed, rows.get() * 1000 / elapsed);
+    }
+
+    // The definition is recorded in the same transaction as the drop, so an index is never lost with the process
+    private List<String> dropSecondaryIndexes(String table) {
+        List<String[]> indexes = jdbcTemplate.query(
+                "SELECT indexrelid::regclass::text, pg_get_indexdef(indexrelid) FROM pg_index " +
+                "WHERE indrelid = ?::regclass AND NOT indisunique",
+                (rs, rowNum) -> new String[] {rs.getString(1), rs.getString(2)}, table);
+        List<String> definitions = new ArrayList<>();
+        for (String[] index : indexes) {
+            logger.info("Dropping index for the load: {}", index[1]);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("INSERT INTO datagen_dropped_indexes (index_name, table_name, definition) " +
+                        "VALUES (?, ?, ?)", index[0], table, index[1]);
+                jdbcTemplate.execute("DROP INDEX " + index[0]);
+            });
+            definitions.add(index[1]);
+        }
+        return definitions;
+    }
+
+    private void rebuild(ExecutorService executor, String table, List<String> definitions) throws Exception {
+        if (definitions.isEmpty()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        List<Future<?>> builds = new ArrayList<>();
+        for (String definition : definitions) {
+            builds.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(false);
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET LOCAL statement_timeout = 0");
+                        statement.execute("SET LOCAL maintenance_work_mem = '" + maintenanceWorkMem + "'");
+                        statement.execute(definition);
+                    }
+                    try (PreparedStatement forget = connection.prepareStatement(
+                            "DELETE FROM datagen_dropped_indexes WHERE definition = ?")) {
+                        forget.setString(1, definition);
+                        forget.executeUpdate();
+                    }
+                    connection.commit();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> build : builds) {
+            build.get();
+        }
+        logger.info("Rebuilt {} indexes on {} in {} ms", definitions.size(), table, System.currentTimeMillis() - started);
+    }
+
+    private long copyBatch(String sql, long from, long to, RowWriter writer) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL statement_timeout = 0");
+                statement.execute("SET LOCAL synchronous_commit = off");
+            }
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            try {
+                CopyWriter out = new CopyWriter(copyIn);
+                for (long index = from; index < to; index++) {
+                    writer.write(index, out);
+                }
+                long rows = out.finish();
+                connection.commit();
+                return rows;
+            } catch (SQLException | RuntimeException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long index, CopyWriter out) throws SQLException;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ticketing.datagen;
+
+import com.ticketing.TicketingSystemApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the backend without its web server, migrates the target database and runs
+ * {@link DatasetGenerator} once. Lives with the tests so it never ships in the application jar.
+ * Run it against a scratch PostgreSQL database, never a live one:
+ *
+ * <pre>mvn spring-boot:test-run -Dspring-boot.run.main-class=com.ticketing.datagen.DatasetGeneratorApplication \
+ *   -Dspring-boot.run.profiles=datagen</pre>
+ */
+public class DatasetGeneratorApplication {
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = SpringApplication.from(TicketingSystemApplication::main)
+                .run(args).getApplicationContext()) {
+            context.getAutowireCapableBeanFactory().createBean(DatasetGenerator.class).generate();
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.ticketing.datagen;
+
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.TicketStatus;
+import com.ticketing.service.SlaPolicy;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic rows for the dataset generator. Every ticket is derived from the seed and its index
+ * alone, so the comment pass regenerates exactly the threads the ticket pass counted, and batches
+ * can be written in any order on any connection.
+ *
+ * <p>Shapes: a few heavy creators file most tickets and a few agents carry most assignments; ticket
+ * volume grows towards the present; resolution time is log-normal around half the priority's SLA
+ * target, so old tickets are mostly closed and recent ones still open; comment threads and
+ * attachment counts follow a Lomax (Pareto II) distribution; descriptions are log-normal in length
+ * with occasional stack traces.
+ */
+public class SyntheticDataset {
+    private static final String[] FIRST_NAMES = {"Alice", "Bob", "Carol", "Dave", "Erin", "Frank", "Grace", "Heidi",
+            "Ivan", "Judy", "Mallory", "Niaj", "Olivia", "Peggy", "Rupert", "Sybil", "Trent", "Victor", "Wendy", "Yusuf"};
+    private static final String[] LAST_NAMES = {"Smith", "Jones", "Brown", "Taylor", "Wilson", "Davies", "Evans",
+            "Thomas", "Roberts", "Walker", "Nguyen", "Garcia", "Kowalski", "Okafor", "Haddad", "Tanaka", "Silva", "Novak"};
+    private static final String[] PROBLEMS = {"Cannot log in", "Password reset email never arrives", "Invoice is missing",
+            "Dashboard loads slowly", "Export fails", "Notifications stopped", "Need access", "Printer shows offline",
+            "VPN keeps disconnecting", "Charged twice", "Report totals are wrong", "Upload times out", "Search returns nothing",
+            "Account locked", "Sync conflict", "Page shows a blank screen"};
+    private static final String[] AREAS = {"billing", "the mobile app", "the admin console", "reports", "single sign-on",
+            "the customer portal", "the API", "email", "the warehouse module", "payroll", "the calendar", "file sharing"};
+    private static final String[] OPENERS = {"Since this morning", "After the latest update", "For two of our teams",
+            "Intermittently", "Every time we retry", "On Chrome and Firefox", "Only on the VPN", "Since the migration"};
+    private static final String[] SYMPTOMS = {"the request times out after thirty seconds", "we get an internal server error",
+            "the spinner never stops", "the numbers do not match the ledger", "the page reloads and loses our input",
+            "the export is empty", "nothing happens when we click save", "the session expires immediately",
+            "the attachment preview is broken", "the totals are off by one day"};
+    private static final String[] FOLLOW_UPS = {"Restarting did not help.", "Clearing the cache made no difference.",
+            "A colleague in another office sees the same thing.", "It blocks our month-end close.",
+            "Screenshots are attached.", "This worked fine last week.", "We need this fixed before Friday.",
+            "The error code is shown below.", "Could you check the server logs for our account?",
+            "Thanks for looking into it."};
+    private static final String[] REPLIES = {"Thanks, we are looking into it.", "Could you send the exact time it happened?",
+            "We deployed a fix, please try again.", "I can reproduce this on our side.", "Still happening for us.",
+            "That worked, thank you!", "Escalating to the platform team.", "Which browser version are you using?",
+            "Please clear your cookies and retry.", "The workaround is to export in smaller batches."};
+    private static final String[] FRAMES = {"com.acme.portal.web.ExportController.download", "com.acme.billing.InvoiceService.render",
+            "org.hibernate.internal.SessionImpl.find", "java.util.concurrent.FutureTask.run",
+            "org.springframework.web.servlet.FrameworkServlet.service", "com.acme.sync.Replicator.apply",
+            "java.base/java.net.SocketInputStream.read", "com.zaxxer.hikari.pool.HikariPool.getConnection"};
+    private static final String[][] ATTACHMENT_TYPES = {{"screenshot", "png", "image/png"}, {"export", "csv", "text/csv"},
+            {"invoice", "pdf", "application/pdf"}, {"logs", "txt", "text/plain"}, {"archive", "zip", "application/zip"}};
+    private static final int[] RATING_WEIGHTS = {5, 7, 13, 30, 45};
+
+    private final long seed;
+    private final String usernamePrefix;
+    private final String passwordHash;
+    private final int admins;
+    private final int agents;
+    private final int users;
+    private final double meanComments;
+    private final int maxComments;
+    private final double attachmentRatio;
+    private final long historySeconds;
+    private final LocalDateTime now;
+    private final long userBaseId;
+    private final long ticketBaseId;
+    private final SlaPolicy slaPolicy;
+
+    public SyntheticDataset(long seed, String usernamePrefix, String passwordHash, int admins, int agents, int users,
+                            double meanComments, int maxComments, double attachmentRatio, int historyDays,
+                            LocalDateTime now, long userBaseId, long ticketBaseId, SlaPolicy slaPolicy) {
+        this.seed = seed;
+        this.usernamePrefix = usernamePrefix;
+        this.passwordHash = passwordHash;
+        this.admins = admins;
+        this.agents = agents;
+        this.users = users;
+        this.meanComments = meanComments;
+        this.maxComments = maxComments;
+        this.attachmentRatio = attachmentRatio;
+        this.historySeconds = Duration.ofDays(historyDays).getSeconds();
+        this.now = now;
+        this.userBaseId = userBaseId;
+        this.ticketBaseId = ticketBaseId;
+        this.slaPolicy = slaPolicy;
+    }
+
+    public int totalUsers() {
+        return admins + agents + users;
+    }
+
+    // id, username, email, password, first_name, last_name, role, enabled, created_at, updated_at
+    public void writeUser(int index, CopyWriter out) throws SQLException {
+        SplittableRandom random = random(-1 - index, 0);
+        String username = usernamePrefix + "_" + (index + 1);
+        LocalDateTime createdAt = userCreatedAt(index);
+        Role role = index < admins ? Role.ADMIN : index < admins + agents ? Role.SUPPORT_AGENT : Role.USER;
+        out.number(userBaseId + index).text(username).text(username + "@example.com").text(passwordHash)
+                .text(pick(random, FIRST_NAMES)).text(pick(random, LAST_NAMES)).text(role.name())
+                .bool(random.nextInt(50) != 0).timestamp(createdAt).timestamp(createdAt);
+        out.endRow();
+    }
+
+    // id, subject, description, status, priority, creator_id, assignee_id, created_at, updated_at, resolved_at,
+    // closed_at, rating, comment_count, last_activity_at, last_commenter_id
+    public void writeTicket(long index, CopyWriter out) throws SQLException {
+        Shape shape = shape(index);
+        SplittableRandom random = random(index, 1);
+        int comments = shape.commentTimes().length;
+        String problem = pick(random, PROBLEMS);
+
+        out.number(ticketBaseId + index).text(problem + " in " + pick(random, AREAS)).text(description(random, problem))
+                .text(shape.status().name()).text(shape.priority().name()).number(userId(shape.creator()))
+                .number(shape.assignee() >= 0 ? userId(shape.assignee()) : null)
+                .timestamp(shape.createdAt()).timestamp(shape.updatedAt())
+                .timestamp(shape.resolvedAt()).timestamp(shape.closedAt()).number(shape.rating())
+                .number(comments)
+                .timestamp(comments > 0 ? shape.commentTimes()[comments - 1] : shape.createdAt())
+                .number(comments > 0 ? userId(shape.commentAuthors()[comments - 1]) : null);
+        out.endRow();
+    }
+
+    // content, ticket_id, author_id, created_at, updated_at
+    public void writeComments(long index, CopyWriter out) throws SQLException {
+        Shape shape = shape(index);
+        SplittableRandom random = random(index, 2);
+        for (int i = 0; i < shape.commentTimes().length; i++) {
+            LocalDateTime createdAt = shape.commentTimes()[i];
+            out.text(comment(random)).number(ticketBaseId + index).number(userId(shape.commentAuthors()[i]))
+                    .timestamp(createdAt).timestamp(createdAt);
+            out.endRow();
+        }
+    }
+
+    // file_name, file_path, content_type, file_size, ticket_id, uploaded_by, uploaded_at
+    public void writeAttachments(long index, CopyWriter out) throws SQLException {
+        SplittableRandom random = random(index, 3);
+        if (random.nextDouble() >= attachmentRatio) {
+            return;
+        }
+        Shape shape = shape(index);
+        long ticketId = ticketBaseId + index;
+        int count = Math.min(10, 1 + (int) lomax(random, 2.0, 1.0));
+        for (int i = 0; i < count; i++) {
+            String[] type = pick(random, ATTACHMENT_TYPES);
+            String fileName = type[0] + "-" + (i + 1) + "." + type[1];
+            int uploader = shape.assignee() >= 0 && random.nextInt(5) == 0 ? shape.assignee() : shape.creator();
+            long size = Math.max(200, (long) (200_000 * Math.exp(1.3 * random.nextGaussian())));
+            out.text(fileName).text("uploads/" + ticketId + "/" + Long.toHexString(random.nextLong()) + "-" + fileName)
+                    .text(type[2]).number(size).number(ticketId).number(userId(uploader))
+                    .timestamp(shape.createdAt().plusSeconds(random.nextInt(7200)));
+            out.endRow();
+        }
+    }
+
+    private Shape shape(long index) {
+        SplittableRandom random = random(index, 0);
+        int customers = Math.max(1, users);
+        // Cubing concentrates creators at the low indexes, which are also the oldest accounts
+        int creator = admins + agents + (int) (customers * Math.pow(random.nextDouble(), 3));
+        LocalDateTime registered = userCreatedAt(creator);
+        long lifetime = Math.max(1, Duration.between(registered, now).getSeconds());
+        LocalDateTime createdAt = now.minusSeconds((long) (lifetime * Math.pow(random.nextDouble(), 2)));
+        Priority priority = priority(random);
+
+        long toResolve = (long) (slaPolicy.targetHours(priority) * 3600 * 0.5 * Math.exp(1.2 * random.nextGaussian()));
+        LocalDateTime doneAt = createdAt.plusSeconds(Math.max(60, toResolve));
+        TicketStatus status;
+        LocalDateTime resolvedAt = null;
+        LocalDateTime closedAt = null;
+        int assignee = -1;
+        if (doneAt.isBefore(now)) {
+            assignee = agent(random);
+            if (random.nextInt(10) == 0) {
+                // Closed as won't fix or duplicate, never resolved
+                closedAt = doneAt;
+                status = TicketStatus.CLOSED;
+            } else {
+                resolvedAt = doneAt;
+                LocalDateTime closingAt = doneAt.plusSeconds((long) (-Math.log(1 - random.nextDouble()) * 3 * 86400));
+                closedAt = closingAt.isBefore(now) ? closingAt : null;
+                status = closedAt != null ? TicketStatus.CLOSED : TicketStatus.RESOLVED;
+            }
+        } else {
+            double ageHours = Duration.between(createdAt, now).getSeconds() / 3600.0;
+            if (random.nextDouble() < Math.min(0.9, ageHours / 4)) {
+                assignee = agent(random);
+            }
+            status = assignee >= 0 && random.nextInt(10) < 7 ? TicketStatus.IN_PROGRESS : TicketStatus.OPEN;
+        }
+        Long rating = resolvedAt != null && random.nextInt(100) < 35 ? (long) rating(random) : null;
+
+        LocalDateTime threadEnd = closedAt != null ? closedAt : now;
+        long window = Math.max(1, Duration.between(createdAt, threadEnd).getSeconds());
+        int comments = (int) Math.min(maxComments, Math.round(lomax(random, 2.0, meanComments)));
+        long[] offsets = new long[comments];
+        for (int i = 0; i < comments; i++) {
+            offsets[i] = (long) (window * random.nextDouble());
+        }
+        Arrays.sort(offsets);
+        LocalDateTime[] commentTimes = new LocalDateTime[comments];
+        int[] commentAuthors = new int[comments];
+        for (int i = 0; i < comments; i++) {
+            commentTimes[i] = createdAt.plusSeconds(offsets[i]);
+            if (random.nextInt(20) == 0) {
+                commentAuthors[i] = agent(random);
+            } else {
+                commentAuthors[i] = i % 2 == 1 && assignee >= 0 ? assignee : creator;
+            }
+        }
+
+        LocalDateTime updatedAt = closedAt != null ? closedAt : resolvedAt != null ? resolvedAt : createdAt;
+        return new Shape(creator, assignee, priority, status, createdAt, updatedAt, resolvedAt, closedAt, rating,
+                commentTimes, commentAuthors);
+    }
+
+    // Admins and agents have been around from the start; customer sign-ups spread evenly over the history
+    private LocalDateTime userCreatedAt(int index) {
+        if (index < admins + agents) {
+            return now.minusSeconds(historySeconds - index * 60L);
+        }
+        double position = (double) (index - admins - agents) / Math.max(1, users);
+        return now.minusSeconds((long) (historySeconds * (1 - position)));
+    }
+
+    private int agent(SplittableRandom random) {
+        if (agents == 0) {
+            return 0;
+        }
+        return admins + (int) (agents * Math.pow(random.nextDouble(), 1.5));
+    }
+
+    private long userId(int index) {
+        return userBaseId + index;
+    }
+
+    private String description(SplittableRandom random, String problem) {
+        StringBuilder text = new StringBuilder(problem).append(". ");
+        int sentences = (int) Math.max(1, Math.min(150, Math.round(Math.exp(1.5 + 0.9 * random.nextGaussian()))));
+        for (int i = 0; i < sentences; i++) {
+            sentence(random, text);
+        }
+        if (random.nextInt(100) < 12) {
+            text.append("\n\nStack trace:\njava.lang.IllegalStateException: ").append(pick(random, SYMPTOMS));
+            int frames = 8 + random.nextInt(53);
+            for (int i = 0; i < frames; i++) {
+                text.append("\n\tat ").append(pick(random, FRAMES)).append("(").append("Line.java:")
+                        .append(10 + random.nextInt(900)).append(")");
+            }
+        }
+        return text.toString();
+    }
+
+    private String comment(SplittableRandom random) {
+        StringBuilder text = new StringBuilder(pick(random, REPLIES));
+        int sentences = (int) Math.max(0, Math.min(60, Math.round(Math.exp(0.2 + 0.9 * random.nextGaussian())) - 1));
+        for (int i = 0; i < sentences; i++) {
+            text.append(' ');
+            sentence(random, text);
+        }
+        if (random.nextInt(100) < 4) {
+            text.append("\n\n").append(now.minusSeconds(random.nextInt(86400))).append(" ERROR request ")
+                    .append(Long.toHexString(random.nextLong())).append(" failed: ").append(pick(random, SYMPTOMS));
+        }
+        return text.toString();
+    }
+
+    private static void sentence(SplittableRandom random, StringBuilder text) {
+        if (random.nextBoolean()) {
+            text.append(pick(random, OPENERS)).append(' ').append(pick(random, SYMPTOMS)).append(" in ")
+                    .append(pick(random, AREAS)).append(". ");
+        } else {
+            text.append(pick(random, FOLLOW_UPS)).append(' ');
+        }
+    }
+
+    // Most tickets are routine, a few are urgent
+    private static Priority priority(SplittableRandom random) {
+        int value = random.nextInt(100);
+        return value < 30 ? Priority.LOW : value < 75 ? Priority.MEDIUM : value < 93 ? Priority.HIGH : Priority.URGENT;
+    }
+
+    private static int rating(SplittableRandom random) {
+        int value = random.nextInt(100);
+        for (int i = 0; i < RATING_WEIGHTS.length; i++) {
+            value -= RATING_WEIGHTS[i];
+            if (value < 0) {
+                return i + 1;
+            }
+        }
+        return RATING_WEIGHTS.length;
+    }
+
+    // Heavy tailed with the given mean; shape 2 keeps the mean finite but not the variance
+    private static double lomax(SplittableRandom random, double shape, double mean) {
+        double scale = mean * (shape - 1);
+        return scale * (Math.pow(1 - random.nextDouble(), -1 / shape) - 1);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private SplittableRandom random(long index, int stream) {
+        return new SplittableRandom(mix(seed ^ mix(index * 4 + stream)));
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record Shape(int creator, int assignee, Priority priority, TicketStatus status, LocalDateTime createdAt,
+                         LocalDateTime updatedAt, LocalDateTime resolvedAt, LocalDateTime closedAt, Long rating,
+                         LocalDateTime[] commentTimes, int[] commentAuthors) {}
+}
@@ -0,0 +1,163 @@
+package com.ticketing.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainEventBusTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DomainEventBus bus;
+
+    @AfterEach
+    void stop() {
+        if (bus != null && bus.isRunning()) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void concurrentPublishersWrapTheRingWithoutLosingOrReorderingEvents() throws Exception {
+        int publishers = 4;
+        int perPublisher = 5000;
+        RecordingConsumer consumer = new RecordingConsumer(publishers * perPublisher);
+        // Four slots, so every publisher laps the ring many times
+        bus = startBus(4, 10_000, consumer);
+
+        ExecutorService executor = Executors.newFixedThreadPool(publishers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (long publisher = 0; publisher < publishers; publisher++) {
+                long id = publisher;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perPublisher; i++) {
+                        bus.publish(new CommentAdded(id, i, id));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(consumer.done.await(30, TimeUnit.SECONDS)).isTrue();
+        Map<Long, Long> lastSeen = new HashMap<>();
+        for (DomainEvent event : consumer.received) {
+            CommentAdded added = (CommentAdded) event;
+            long previous = lastSeen.getOrDefault(added.ticketId(), -1L);
+            assertThat(added.commentId()).isEqualTo(previous + 1);
+            lastSeen.put(added.ticketId(), added.commentId());
+        }
+        assertThat(consumer.received).hasSize(publishers * perPublisher);
+        assertThat(meterRegistry.counter("ticketing.events.dropped").count()).isZero();
+    }
+
+    @Test
+    void consumerErrorDoesNotStopDelivery() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        RecordingConsumer consumer = new RecordingConsumer(20) {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                if (failed.getCount() > 0) {
+                    failed.countDown();
+                    throw new NoClassDefFoundError("jakarta/mail/Session");
+                }
+                super.onEvents(events);
+            }
+        };
+        bus = startBus(4, 1000, consumer);
+
+        bus.publish(new CommentAdded(1L, 0L, 1L));
+        assertThat(failed.await(10, TimeUnit.SECONDS)).isTrue();
+        // More events than slots, so they only get through if the worker is still reading
+        for (long i = 1; i <= 20; i++) {
+            bus.publish(new CommentAdded(1L, i, 1L));
+        }
+
+        assertThat(consumer.done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.counter("ticketing.events.dropped").count()).isZero();
+        assertThat(meterRegistry.counter("ticketing.events.failures", "consumer", "recording").count()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsEventsOnceAStuckConsumerFillsTheRing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingConsumer consumer = new RecordingConsumer(1) {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onEvents(events);
+            }
+        };
+        bus = startBus(2, 10, consumer);
+
+        for (long i = 0; i < 10; i++) {
+            bus.publish(new CommentAdded(1L, i, 1L));
+        }
+        release.countDown();
+
+        assertThat(meterRegistry.counter("ticketing.events.dropped").count()).isPositive();
+    }
+
+    private DomainEventBus startBus(int ringSize, long publishTimeoutMs, DomainEventConsumer consumer) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("consumer", consumer);
+        DomainEventBus eventBus = new DomainEventBus();
+        ReflectionTestUtils.setField(eventBus, "consumers", beanFactory.getBeanProvider(DomainEventConsumer.class));
+        ReflectionTestUtils.setField(eventBus, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(eventBus, "ringSize", ringSize);
+        ReflectionTestUtils.setField(eventBus, "maxBatch", 256);
+        ReflectionTestUtils.setField(eventBus, "publishTimeoutMs", publishTimeoutMs);
+        ReflectionTestUtils.setField(eventBus, "drainTimeoutMs", 1000L);
+        eventBus.init();
+        eventBus.start();
+        return eventBus;
+    }
+
+    private static class RecordingConsumer implements DomainEventConsumer {
+        final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch done;
+
+        RecordingConsumer(int expected) {
+            done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void onEvents(List<DomainEvent> events) {
+            for (DomainEvent event : events) {
+                received.add(event);
+                done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ticketing.plancheck;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@TestConfiguration
+public class PlanCheckConfig {
+    // Picked up by DataSourceProxyConfig like any other query listener
+    @Bean
+    public QueryCapture queryCapture() {
+        return new QueryCapture();
+    }
+
+    @Bean
+    public PlanCheckDataset planCheckDataset() {
+        return new PlanCheckDataset();
+    }
+}
@@ -0,0 +1,107 @@
+package com.ticketing.plancheck;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds a production-shaped dataset for plan checks: mostly closed tickets, a long tail of
+ * creators with a few heavy ones, and a handful of agents carrying all assignments.
+ * Rows are tagged with a {@code plancheck_} username prefix and only inserted once per database.
+ */
+public class PlanCheckDataset {
+    private static final Logger logger = LoggerFactory.getLogger(PlanCheckDataset.class);
+
+    private static final String SEEDED_USERS = "username LIKE 'plancheck\\_%'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.plancheck.users:20000}")
+    private int users;
+
+    @Value("${app.plancheck.agents:50}")
+    private int agents;
+
+    @Value("${app.plancheck.tickets:200000}")
+    private int tickets;
+
+    @Value("${app.plancheck.comments-per-ticket:3}")
+    private int commentsPerTicket;
+
+    public Sample seed() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE " + SEEDED_USERS, Integer.class);
+        if (existing == null || existing == 0) {
+            long started = System.currentTimeMillis();
+            insertUsers();
+            insertTickets();
+            insertComments();
+            logger.info("Seeded plan check dataset in {} ms", System.currentTimeMillis() - started);
+        }
+        // Fresh statistics and visibility map, as autovacuum would eventually produce
+        jdbcTemplate.execute("VACUUM ANALYZE");
+        return sample();
+    }
+
+    private void insertUsers() {
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, first_name, last_name, role, enabled, created_at, updated_at) " +
+                "SELECT 'plancheck_' || g, 'plancheck_' || g || '@example.com', '!', " +
+                "(ARRAY['Alice','Bob','Carol','Dave','Erin','Frank','Grace','Heidi','Ivan','Judy'])[1 + g % 10], " +
+                "(ARRAY['Smith','Jones','Brown','Taylor','Wilson','Davies','Evans','Thomas','Roberts','Walker'])[1 + (g / 10) % 10], " +
+                "CASE WHEN g <= 5 THEN 'ADMIN' WHEN g <= 5 + ? THEN 'SUPPORT_AGENT' ELSE 'USER' END, " +
+                "g % 50 <> 0, now() - random() * interval '730 days', now() " +
+                "FROM generate_series(1, ?) g",
+                agents, users);
+    }
+
+    private void insertTickets() {
+        jdbcTemplate.update(
+                "WITH creators AS (SELECT min(id) AS first_id, count(*) AS n FROM users WHERE " + SEEDED_USERS + " AND role = 'USER'), " +
+                "agents AS (SELECT array_agg(id) AS ids FROM users WHERE " + SEEDED_USERS + " AND role = 'SUPPORT_AGENT'), " +
+                "seeded AS (SELECT g, random() AS s, random() AS p, now() - (random() ^ 2) * interval '730 days' AS created " +
+                "           FROM generate_series(1, ?) g) " +
+                "INSERT INTO tickets (subject, description, status, priority, creator_id, assignee_id, " +
+                "                     created_at, updated_at, resolved_at, closed_at, rating) " +
+                "SELECT (ARRAY['Cannot log in','Password reset','Invoice missing','Slow dashboard','Export fails'," +
+                "              'Email not received','Access request','Printer offline','VPN disconnects','Billing question'])[1 + g % 10] || ' #' || g, " +
+                "       'Customer reports ' || md5(g::text) || ' since the latest ' || (ARRAY['update','deploy','migration','login','payment'])[1 + g % 5], " +
+                "       CASE WHEN s < 0.60 THEN 'CLOSED' WHEN s < 0.75 THEN 'RESOLVED' WHEN s < 0.90 THEN 'OPEN' ELSE 'IN_PROGRESS' END, " +
+                "       CASE WHEN p < 0.35 THEN 'LOW' WHEN p < 0.80 THEN 'MEDIUM' WHEN p < 0.95 THEN 'HIGH' ELSE 'URGENT' END, " +
+                "       c.first_id + c.n - 1 - floor((random() ^ 2) * c.n)::bigint, " +
+                "       CASE WHEN s >= 0.75 AND s < 0.90 AND random() < 0.5 THEN NULL " +
+                "            ELSE a.ids[1 + floor(random() * array_length(a.ids, 1))::int] END, " +
+                "       created, created, " +
+                "       CASE WHEN s < 0.75 THEN LEAST(now(), created + random() * interval '10 days') END, " +
+                "       CASE WHEN s < 0.60 THEN LEAST(now(), created + interval '10 days' + random() * interval '5 days') END, " +
+                "       CASE WHEN s < 0.75 AND random() < 0.3 THEN 1 + floor(random() * 5)::int END " +
+                "FROM seeded, creators c, agents a",
+                tickets);
+    }
+
+    private void insertComments() {
+        jdbcTemplate.update(
+                "INSERT INTO comments (content, ticket_id, author_id, created_at, updated_at) " +
+                "SELECT 'Follow-up ' || c || ' on ticket ' || t.id, t.id, " +
+                "       CASE WHEN c % 2 = 0 THEN t.creator_id ELSE COALESCE(t.assignee_id, t.creator_id) END, " +
+                "       t.created_at + c * interval '3 hours', t.created_at + c * interval '3 hours' " +
+                "FROM tickets t JOIN users u ON u.id = t.creator_id AND u." + SEEDED_USERS + " " +
+                "CROSS JOIN LATERAL generate_series(1, (t.id % (2 * ?))::int + 1) c",
+                commentsPerTicket);
+    }
+
+    // Parameters taken from the middle of the data, so they represent a typical request rather than an edge case
+    private Sample sample() {
+        Long ticketId = jdbcTemplate.queryForObject(
+                "SELECT id FROM tickets WHERE assignee_id IS NOT NULL ORDER BY id OFFSET (SELECT COUNT(*) / 2 FROM tickets) / 2 LIMIT 1",
+                Long.class);
+        return jdbcTemplate.queryForObject(
+                "SELECT t.id, c.id, c.username, c.email, t.assignee_id FROM tickets t JOIN users c ON c.id = t.creator_id WHERE t.id = ?",
+                (rs, rowNum) -> new Sample(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4), rs.getLong(5)),
+                ticketId);
+    }
+
+    public record Sample(Long ticketId, Long creatorId, String creatorUsername, String creatorEmail, Long agentId) {}
+}
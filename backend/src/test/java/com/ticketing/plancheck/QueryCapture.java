@@ -0,0 +1,50 @@
+package com.ticketing.plancheck;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL and bound parameters of every statement executed on the current thread while
+ * {@link #capture(Runnable)} is running, so they can be replayed under EXPLAIN.
+ */
+public class QueryCapture implements QueryExecutionListener {
+    private final ThreadLocal<List<CapturedQuery>> active = new ThreadLocal<>();
+
+    public List<CapturedQuery> capture(Runnable action) {
+        List<CapturedQuery> captured = new ArrayList<>();
+        active.set(captured);
+        try {
+            action.run();
+        } finally {
+            active.remove();
+        }
+        return captured;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<CapturedQuery> captured = active.get();
+        if (captured == null) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (queryInfo.getParametersList().isEmpty()) {
+                captured.add(new CapturedQuery(queryInfo.getQuery(), List.of()));
+            } else {
+                // Batched executions repeat the same shape; the first parameter set is representative
+                captured.add(new CapturedQuery(queryInfo.getQuery(), List.copyOf(queryInfo.getParametersList().get(0))));
+            }
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    public record CapturedQuery(String sql, List<ParameterSetOperation> parameters) {}
+}
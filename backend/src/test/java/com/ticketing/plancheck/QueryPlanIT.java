@@ -0,0 +1,308 @@
+package com.ticketing.plancheck;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.dto.ResolutionSample;
+import com.ticketing.dto.TicketText;
+import com.ticketing.dto.UserSuggestion;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.TicketStatus;
+import com.ticketing.model.User;
+import com.ticketing.repository.CommentRepository;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query in the ticket, user and comment repositories against a seeded dataset,
+ * EXPLAINs the SQL Hibernate actually issued, and fails when a plan sequentially scans a
+ * large table or its estimated cost regresses past the recorded baseline.
+ *
+ * <pre>mvn verify -Dit.test=QueryPlanIT</pre>
+ */
+@ActiveProfiles("plancheck")
+@Import(PlanCheckConfig.class)
+class QueryPlanIT extends PostgresIntegrationTest {
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanIT.class);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PlanCheckDataset dataset;
+
+    @Autowired
+    private QueryCapture queryCapture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.plancheck.min-table-rows:10000}")
+    private long minTableRows;
+
+    @Value("${app.plancheck.cost-tolerance:0.25}")
+    private double costTolerance;
+
+    @Value("${app.plancheck.baseline:plancheck-baseline.json}")
+    private String baselinePath;
+
+    @Value("${app.plancheck.update-baseline:false}")
+    private boolean updateBaseline;
+
+    @Test
+    void plansUseIndexesAndStayWithinBaseline() throws Exception {
+        PlanCheckDataset.Sample sample = dataset.seed();
+        Map<String, Double> tableRows = tableRowEstimates();
+        Map<String, Double> baseline = readBaseline();
+        Map<String, Double> costs = new TreeMap<>();
+        List<String> failures = new ArrayList<>();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        for (PlanCheck check : catalog(sample)) {
+            List<QueryCapture.CapturedQuery> queries = queryCapture.capture(
+                    () -> transaction.executeWithoutResult(status -> check.query().run()));
+            if (queries.isEmpty()) {
+                failures.add(check.name() + ": no SQL was executed");
+                continue;
+            }
+
+            for (int i = 0; i < queries.size(); i++) {
+                String key = queries.size() > 1 ? check.name() + "[" + (i + 1) + "]" : check.name();
+                JsonNode plan = explain(queries.get(i));
+                double cost = plan.path("Total Cost").asDouble();
+                costs.put(key, cost);
+                logger.info("{} cost={} plan={}", key, cost, describe(plan));
+
+                for (String relation : seqScans(plan, new LinkedHashSet<>())) {
+                    double rows = tableRows.getOrDefault(relation, 0.0);
+                    if (rows >= minTableRows && !check.allowedSeqScans().contains(relation)) {
+                        failures.add(String.format("%s: sequential scan on %s (~%.0f rows)", key, relation, rows));
+                    }
+                }
+
+                Double expected = baseline.get(key);
+                if (expected != null && cost > expected * (1 + costTolerance) && cost - expected > 1.0) {
+                    failures.add(String.format("%s: estimated cost %.2f exceeds baseline %.2f", key, cost, expected));
+                }
+            }
+        }
+
+        if (updateBaseline) {
+            objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(new File(baselinePath), costs);
+            logger.info("Wrote plan cost baseline for {} statements to {}", costs.size(), baselinePath);
+        }
+
+        logger.info("Plan check finished: {} statements, {} failures", costs.size(), failures.size());
+        assertThat(failures).isEmpty();
+    }
+
+    private List<PlanCheck> catalog(PlanCheckDataset.Sample sample) {
+        Pageable newestFirst = PageRequest.of(0, 20, Sort.by("createdAt").descending());
+        Pageable byUsername = PageRequest.of(0, 20, Sort.by("username"));
+        Pageable recentlyActive = PageRequest.of(0, 20, Sort.by("lastActivityAt").descending());
+        LocalDateTime lastMonth = LocalDateTime.now().minusDays(30);
+
+        return List.of(
+                check("TicketRepository.findById", () -> ticketRepository.findById(sample.ticketId())),
+                check("TicketRepository.findWithPeopleById", () -> ticketRepository.findWithPeopleById(sample.ticketId())),
+                check("TicketRepository.findStatusViewById", () -> ticketRepository.findStatusViewById(sample.ticketId())),
+                check("TicketRepository.findAccess", () -> ticketRepository.findAccess(
+                        sample.ticketId(), sample.creatorId(), Role.USER)),
+                check("TicketRepository.findByCreator", () -> ticketRepository.findByCreator(creator(sample), newestFirst)),
+                check("TicketRepository.findByAssignee", () -> ticketRepository.findByAssignee(agent(sample), newestFirst)),
+                check("TicketRepository.findByStatus", () -> ticketRepository.findByStatus(TicketStatus.OPEN, newestFirst)),
+                check("TicketRepository.findByStatus.recentlyActive", () -> ticketRepository.findByStatus(TicketStatus.OPEN, recentlyActive)),
+                check("TicketRepository.findByCreator.recentlyActive", () -> ticketRepository.findByCreator(creator(sample), recentlyActive)),
+                check("TicketRepository.findByPriority", () -> ticketRepository.findByPriority(Priority.URGENT, newestFirst)),
+                check("TicketRepository.findByCreatorOrAssignee", () -> ticketRepository.findByCreatorOrAssignee(agent(sample), newestFirst)),
+                check("TicketRepository.findBySearchTerm", () -> ticketRepository.findBySearchTerm("printer", newestFirst)),
+                check("TicketRepository.findByFilters", () -> ticketRepository.findByFilters(
+                        TicketStatus.OPEN, Priority.HIGH, sample.agentId(), "", newestFirst)),
+                check("TicketRepository.findByFilters.search", () -> ticketRepository.findByFilters(
+                        null, null, null, "printer", newestFirst)),
+                // The admin "all tickets" page: its total count has to visit every row
+                check("TicketRepository.findByFilters.unfiltered", () -> ticketRepository.findByFilters(
+                        null, null, null, "", newestFirst), "tickets"),
+                check("TicketRepository.findByCreatorAndFilters", () -> ticketRepository.findByCreatorAndFilters(
+                        creator(sample), null, null, "", newestFirst)),
+                check("TicketRepository.findByStatusOrderByPriorityDescCreatedAtAsc",
+                        () -> ticketRepository.findByStatusOrderByPriorityDescCreatedAtAsc(TicketStatus.IN_PROGRESS)),
+                check("TicketRepository.countByStatus", () -> ticketRepository.countByStatus(TicketStatus.OPEN)),
+                check("TicketRepository.countByAssigneeAndStatus",
+                        () -> ticketRepository.countByAssigneeAndStatus(agent(sample), TicketStatus.IN_PROGRESS)),
+                check("TicketRepository.streamResolvedSince", () -> {
+                    try (Stream<ResolutionSample> stream = ticketRepository.streamResolvedSince(lastMonth)) {
+                        stream.findFirst();
+                    }
+                }),
+                // Startup rebuild of the duplicate index reads every open ticket
+                check("TicketRepository.streamTextByStatusIn", () -> {
+                    try (Stream<TicketText> stream = ticketRepository.streamTextByStatusIn(
+                            List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS))) {
+                        stream.findFirst();
+                    }
+                }, "tickets"),
+                check("TicketRepository.findWithPeopleByIdIn", () -> ticketRepository.findWithPeopleByIdIn(
+                        List.of(sample.ticketId(), sample.ticketId() + 1))),
+                check("TicketRepository.findTextByIdAndStatusIn", () -> ticketRepository.findTextByIdAndStatusIn(
+                        sample.ticketId(), List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS))),
+
+                check("UserRepository.findByUsername", () -> userRepository.findByUsername(sample.creatorUsername())),
+                check("UserRepository.findPrincipalByUsername", () -> userRepository.findPrincipalByUsername(sample.creatorUsername())),
+                check("UserRepository.findSuggestionById", () -> userRepository.findSuggestionById(sample.creatorId())),
+                check("UserRepository.findByEmail", () -> userRepository.findByEmail(sample.creatorEmail())),
+                check("UserRepository.existsByUsername", () -> userRepository.existsByUsername(sample.creatorUsername())),
+                check("UserRepository.findByUsernameInOrEmailIn", () -> userRepository.findByUsernameInOrEmailIn(
+                        List.of(sample.creatorUsername(), "plancheck_missing"), List.of(sample.creatorEmail(), "missing@example.com"))),
+                check("UserRepository.existsByEmail", () -> userRepository.existsByEmail(sample.creatorEmail())),
+                check("UserRepository.findByRole", () -> userRepository.findByRole(Role.SUPPORT_AGENT)),
+                check("UserRepository.findActiveUsersByRole", () -> userRepository.findActiveUsersByRole(Role.SUPPORT_AGENT)),
+                check("UserRepository.findBySearchTerm", () -> userRepository.findBySearchTerm("walker", byUsername)),
+                // Startup rebuild of the typeahead index reads every user
+                check("UserRepository.streamSuggestions", () -> {
+                    try (Stream<UserSuggestion> stream = userRepository.streamSuggestions()) {
+                        stream.findFirst();
+                    }
+                }, "users"),
+                // Workload aggregates over every assigned ticket by design
+                check("UserRepository.findAgentRoster", () -> userRepository.findAgentRoster(
+                        Role.SUPPORT_AGENT, TicketStatus.OPEN, TicketStatus.IN_PROGRESS), "tickets"),
+
+                check("CommentRepository.findByTicketOrderByCreatedAtAsc",
+                        () -> commentRepository.findByTicketOrderByCreatedAtAsc(ticket(sample))),
+                check("CommentRepository.findByTicketIdOrderByCreatedAtAsc",
+                        () -> commentRepository.findByTicketIdOrderByCreatedAtAsc(sample.ticketId())),
+                check("CommentRepository.findByTicketIdOrderByCreatedAtAscIdAsc",
+                        () -> commentRepository.findByTicketIdOrderByCreatedAtAscIdAsc(sample.ticketId(), PageRequest.of(0, 50))),
+                check("CommentRepository.findWithTicketAndPeopleByIdIn",
+                        () -> commentRepository.findWithTicketAndPeopleByIdIn(List.of(1L, 2L, 3L))));
+    }
+
+    private User creator(PlanCheckDataset.Sample sample) {
+        return userRepository.getReferenceById(sample.creatorId());
+    }
+
+    private User agent(PlanCheckDataset.Sample sample) {
+        return userRepository.getReferenceById(sample.agentId());
+    }
+
+    private Ticket ticket(PlanCheckDataset.Sample sample) {
+        return ticketRepository.getReferenceById(sample.ticketId());
+    }
+
+    private JsonNode explain(QueryCapture.CapturedQuery query) throws IOException {
+        String json = jdbcTemplate.query("EXPLAIN (FORMAT JSON) " + query.sql(),
+                ps -> bind(ps, query.parameters()),
+                rs -> rs.next() ? rs.getString(1) : null);
+        return objectMapper.readTree(json).get(0).get("Plan");
+    }
+
+    // Replays the exact setXxx calls Hibernate made, so EXPLAIN sees the same types and values
+    private static void bind(PreparedStatement ps, List<ParameterSetOperation> parameters) throws SQLException {
+        for (ParameterSetOperation parameter : parameters) {
+            try {
+                parameter.getMethod().invoke(ps, parameter.getArgs());
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw new SQLException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new SQLException(e);
+            }
+        }
+    }
+
+    private static Set<String> seqScans(JsonNode plan, Set<String> relations) {
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            relations.add(plan.path("Relation Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            seqScans(child, relations);
+        }
+        return relations;
+    }
+
+    private static String describe(JsonNode plan) {
+        StringBuilder description = new StringBuilder(plan.path("Node Type").asText());
+        if (plan.has("Index Name")) {
+            description.append(" using ").append(plan.path("Index Name").asText());
+        } else if (plan.has("Relation Name")) {
+            description.append(" on ").append(plan.path("Relation Name").asText());
+        }
+        if (plan.has("Plans")) {
+            StringJoiner children = new StringJoiner(", ", " (", ")");
+            plan.path("Plans").forEach(child -> children.add(describe(child)));
+            description.append(children);
+        }
+        return description.toString();
+    }
+
+    private Map<String, Double> tableRowEstimates() {
+        Map<String, Double> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT relname, reltuples FROM pg_class WHERE relkind = 'r' " +
+                        "AND relnamespace = to_regnamespace(current_schema())",
+                rs -> {
+                    rows.put(rs.getString(1), rs.getDouble(2));
+                });
+        return rows;
+    }
+
+    private Map<String, Double> readBaseline() throws IOException {
+        File file = new File(baselinePath);
+        if (!file.exists()) {
+            logger.warn("No plan cost baseline at {}, only sequential scans are checked", file.getAbsolutePath());
+            return Map.of();
+        }
+        return objectMapper.readValue(file, new TypeReference<Map<String, Double>>() {});
+    }
+
+    private static PlanCheck check(String name, Runnable query, String... allowedSeqScans) {
+        return new PlanCheck(name, query, Set.of(allowedSeqScans));
+    }
+
+    private record PlanCheck(String name, Runnable query, Set<String> allowedSeqScans) {}
+}
@@ -0,0 +1,73 @@
+package com.ticketing.security;
+
+import com.ticketing.model.Role;
+import com.ticketing.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+    private static final long USER_ID = 7L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PrincipalCache principalCache = new PrincipalCache(100);
+    private final Claims claims = mock(Claims.class);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(principalCache, "userRepository", userRepository);
+        when(claims.getId()).thenReturn("token-1");
+        when(claims.getSubject()).thenReturn("casey");
+        when(claims.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+    }
+
+    @Test
+    void cachesPrincipalUntilEvicted() {
+        when(userRepository.findPrincipalByUsername("casey")).thenReturn(principal(Role.USER));
+
+        principalCache.get(claims);
+        principalCache.get(claims);
+        verify(userRepository, times(1)).findPrincipalByUsername("casey");
+
+        principalCache.evict(USER_ID);
+        principalCache.get(claims);
+        verify(userRepository, times(2)).findPrincipalByUsername("casey");
+    }
+
+    @Test
+    void loadThatStartedBeforeEvictionIsNotKept() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(userRepository.findPrincipalByUsername("casey")).thenAnswer(invocation -> {
+            loading.countDown();
+            evicted.await(10, TimeUnit.SECONDS);
+            // Read before the role change committed
+            return principal(Role.SUPPORT_AGENT);
+        }).thenReturn(principal(Role.USER));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<UserPrincipal>> slowLoad = executor.submit(() -> principalCache.get(claims));
+            assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+            principalCache.evict(USER_ID);
+            evicted.countDown();
+            slowLoad.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(principalCache.get(claims).orElseThrow().getRole()).isEqualTo(Role.USER);
+    }
+
+    private static Optional<UserPrincipal> principal(Role role) {
+        return Optional.of(new UserPrincipal(USER_ID, "casey", role, true));
+    }
+}
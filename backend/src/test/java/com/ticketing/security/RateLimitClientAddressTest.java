@@ -0,0 +1,47 @@
+package com.ticketing.security;
+
+import com.ticketing.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.rate-limit.enabled=true")
+class RateLimitClientAddressTest extends PostgresIntegrationTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Value("${app.rate-limit.tiers.signin.capacity}")
+    private int signinCapacity;
+
+    // The test client connects from loopback, which the default trusted proxy list includes
+    @Test
+    void clientsBehindTheProxyGetTheirOwnSigninBuckets() {
+        for (int i = 0; i < signinCapacity; i++) {
+            assertThat(signin("203.0.113.7")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        assertThat(signin("203.0.113.7")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        assertThat(signin("203.0.113.8")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        // Entries left of the last untrusted hop come from the client and are ignored
+        assertThat(signin("198.51.100.1, 203.0.113.7")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private HttpStatus signin(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        Map<String, String> body = Map.of("username", "nobody", "password", "wrong-password");
+        return HttpStatus.valueOf(restTemplate.postForEntity("/api/auth/signin", new HttpEntity<>(body, headers), String.class)
+                .getStatusCode().value());
+    }
+}
@@ -0,0 +1,59 @@
+package com.ticketing.service;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.dto.ResolutionStats;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.TicketStatus;
+import com.ticketing.model.User;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketAnalyticsServiceTest extends PostgresIntegrationTest {
+    @Autowired
+    private TicketAnalyticsService ticketAnalyticsService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void reloadsTheDayAnotherNodeChanged() {
+        long before = resolvedCount();
+
+        // Written behind this node's back, as another node would
+        String suffix = Long.toString(System.nanoTime());
+        User creator = userRepository.save(new User("creator_" + suffix, "creator_" + suffix + "@example.com",
+                "!", "Casey", "Creator", Role.USER));
+        Ticket ticket = new Ticket("Export fails", "The CSV export is empty", Priority.LOW, creator);
+        ticket.setStatus(TicketStatus.RESOLVED);
+        ticket.setResolvedAt(LocalDateTime.now());
+        ticketRepository.save(ticket);
+        assertThat(resolvedCount()).isEqualTo(before);
+
+        ticketAnalyticsService.onInvalidation(CacheTopic.RESOLUTION_DAY, LocalDate.now().toString());
+        assertThat(resolvedCount()).isEqualTo(before + 1);
+
+        ticketAnalyticsService.flush();
+        assertThat(resolvedCount()).isEqualTo(before + 1);
+    }
+
+    private long resolvedCount() {
+        return ticketAnalyticsService.getResolutionStatsByPriority(1).stream()
+                .filter(stats -> stats.getGroup().equals(Priority.LOW.name()))
+                .mapToLong(ResolutionStats::getCount)
+                .findFirst()
+                .orElse(0);
+    }
+}
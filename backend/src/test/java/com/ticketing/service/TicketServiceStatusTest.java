@@ -0,0 +1,116 @@
+package com.ticketing.service;
+
+import com.ticketing.cache.CacheInvalidationBus;
+import com.ticketing.dto.ResolutionSample;
+import com.ticketing.dto.TicketStatusView;
+import com.ticketing.event.DomainEventBus;
+import com.ticketing.exception.TicketStatusConflictException;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.TicketStatus;
+import com.ticketing.model.User;
+import com.ticketing.repository.ArchivedTicketRepository;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+// The status race itself is covered against Postgres by TicketStatusConcurrencyTest
+class TicketServiceStatusTest {
+    private static final long TICKET_ID = 42L;
+    private static final long AGENT_ID = 7L;
+
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final TicketAnalyticsService ticketAnalyticsService = mock(TicketAnalyticsService.class);
+    private final TicketChangeLogService changeLog = mock(TicketChangeLogService.class);
+    private final DomainEventBus eventBus = mock(DomainEventBus.class);
+    private final TicketService ticketService = new TicketService();
+    private final UserPrincipal agent = new UserPrincipal(AGENT_ID, "alex", Role.SUPPORT_AGENT, true);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ticketService, "ticketRepository", ticketRepository);
+        ReflectionTestUtils.setField(ticketService, "archivedTicketRepository", mock(ArchivedTicketRepository.class));
+        ReflectionTestUtils.setField(ticketService, "ticketAnalyticsService", ticketAnalyticsService);
+        ReflectionTestUtils.setField(ticketService, "changeLog", changeLog);
+        ReflectionTestUtils.setField(ticketService, "duplicateIndex", mock(DuplicateTicketIndex.class));
+        ReflectionTestUtils.setField(ticketService, "cacheBus", mock(CacheInvalidationBus.class));
+        ReflectionTestUtils.setField(ticketService, "readCoalescer", mock(TicketReadCoalescer.class));
+        ReflectionTestUtils.setField(ticketService, "eventBus", eventBus);
+    }
+
+    @Test
+    void returnsTheUpdatedRowWithoutReloadingTheTicket() {
+        statusIs(TicketStatus.IN_PROGRESS);
+        Ticket updated = ticket(TicketStatus.RESOLVED);
+        when(ticketRepository.transitionStatus(eq(TICKET_ID), eq("IN_PROGRESS"), eq("RESOLVED"), any()))
+                .thenReturn(Optional.of(updated));
+
+        Ticket result = ticketService.updateTicketStatus(TICKET_ID, TicketStatus.RESOLVED, TicketStatus.IN_PROGRESS, agent);
+
+        assertThat(result).isSameAs(updated);
+        verify(ticketRepository, never()).findById(anyLong());
+        verify(ticketRepository, never()).findResolutionSampleById(anyLong());
+        verify(ticketAnalyticsService).recordResolution(updated);
+        verify(eventBus).publish(any());
+    }
+
+    @Test
+    void reopeningRetractsTheResolutionReadBeforeTheUpdate() {
+        statusIs(TicketStatus.RESOLVED);
+        ResolutionSample sample = new ResolutionSample(AGENT_ID, Priority.HIGH, LocalDateTime.now().minusHours(3),
+                LocalDateTime.now().minusHours(1), 4);
+        when(ticketRepository.findResolutionSampleById(TICKET_ID)).thenReturn(Optional.of(sample));
+        when(ticketRepository.transitionStatus(eq(TICKET_ID), eq("RESOLVED"), eq("IN_PROGRESS"), any()))
+                .thenReturn(Optional.of(ticket(TicketStatus.IN_PROGRESS)));
+
+        ticketService.updateTicketStatus(TICKET_ID, TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED, agent);
+
+        InOrder inOrder = inOrder(ticketRepository);
+        inOrder.verify(ticketRepository).findResolutionSampleById(TICKET_ID);
+        inOrder.verify(ticketRepository).transitionStatus(eq(TICKET_ID), eq("RESOLVED"), eq("IN_PROGRESS"), any());
+        verify(ticketRepository, never()).findById(anyLong());
+        verify(ticketAnalyticsService).retractResolution(sample);
+        verify(ticketAnalyticsService, never()).recordResolution(any());
+    }
+
+    @Test
+    void losingTheRaceReportsTheCurrentStatusAndChangesNothing() {
+        when(ticketRepository.findStatusViewById(TICKET_ID))
+                .thenReturn(Optional.of(new TicketStatusView(TICKET_ID, TicketStatus.OPEN, AGENT_ID)))
+                .thenReturn(Optional.of(new TicketStatusView(TICKET_ID, TicketStatus.CLOSED, AGENT_ID)));
+        when(ticketRepository.transitionStatus(eq(TICKET_ID), eq("OPEN"), eq("IN_PROGRESS"), any()))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ticketService.updateTicketStatus(TICKET_ID, TicketStatus.IN_PROGRESS, TicketStatus.OPEN, agent))
+                .isInstanceOf(TicketStatusConflictException.class)
+                .hasMessageContaining("is CLOSED, not OPEN");
+
+        verify(ticketRepository, never()).findById(anyLong());
+        verifyNoInteractions(changeLog, eventBus, ticketAnalyticsService);
+    }
+
+    private void statusIs(TicketStatus status) {
+        when(ticketRepository.findStatusViewById(TICKET_ID))
+                .thenReturn(Optional.of(new TicketStatusView(TICKET_ID, status, AGENT_ID)));
+    }
+
+    private static Ticket ticket(TicketStatus status) {
+        User creator = new User("casey", "casey@example.com", "!", "Casey", "Creator", Role.USER);
+        creator.setId(3L);
+        Ticket ticket = new Ticket("Printer offline", "Nothing prints since this morning", Priority.HIGH, creator);
+        ticket.setId(TICKET_ID);
+        ticket.setStatus(status);
+        return ticket;
+    }
+}
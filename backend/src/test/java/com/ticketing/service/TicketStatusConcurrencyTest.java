@@ -0,0 +1,123 @@
+package com.ticketing.service;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.dto.ResolutionStats;
+import com.ticketing.exception.TicketStatusConflictException;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.TicketStatus;
+import com.ticketing.model.User;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import com.ticketing.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketStatusConcurrencyTest extends PostgresIntegrationTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketAnalyticsService ticketAnalyticsService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserPrincipal agent;
+    private Long ticketId;
+
+    @BeforeEach
+    void createTicket() {
+        String suffix = Long.toString(System.nanoTime());
+        User creator = userRepository.save(new User("creator_" + suffix, "creator_" + suffix + "@example.com",
+                "!", "Casey", "Creator", Role.USER));
+        User assignee = userRepository.save(new User("agent_" + suffix, "agent_" + suffix + "@example.com",
+                "!", "Alex", "Agent", Role.SUPPORT_AGENT));
+        Ticket ticket = new Ticket("Printer offline", "Nothing prints since this morning", Priority.HIGH, creator);
+        ticket.setAssignee(assignee);
+        ticketId = ticketRepository.save(ticket).getId();
+        agent = new UserPrincipal(assignee.getId(), assignee.getUsername(), Role.SUPPORT_AGENT, true);
+    }
+
+    @Test
+    void exactlyOneTransitionWinsPerSourceStatus() throws Exception {
+        race(TicketStatus.OPEN, TicketStatus.IN_PROGRESS);
+        race(TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED, TicketStatus.CLOSED);
+        TicketStatus afterRace = status();
+        race(afterRace, TicketStatus.IN_PROGRESS);
+        race(TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED);
+    }
+
+    @Test
+    void reopeningTakesBackTheEarlierResolution() {
+        long before = resolvedCount();
+
+        ticketService.updateTicketStatus(ticketId, TicketStatus.RESOLVED, TicketStatus.OPEN, agent);
+        assertThat(resolvedCount()).isEqualTo(before + 1);
+
+        ticketService.updateTicketStatus(ticketId, TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED, agent);
+        assertThat(resolvedCount()).isEqualTo(before);
+
+        ticketService.updateTicketStatus(ticketId, TicketStatus.RESOLVED, TicketStatus.IN_PROGRESS, agent);
+        assertThat(resolvedCount()).isEqualTo(before + 1);
+    }
+
+    // Every thread expects the same source status; the targets are handed out round robin
+    private void race(TicketStatus from, TicketStatus... targets) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TicketStatus>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                TicketStatus to = targets[i % targets.length];
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return ticketService.updateTicketStatus(ticketId, to, from, agent).getStatus();
+                }));
+            }
+            start.countDown();
+
+            List<TicketStatus> winners = new ArrayList<>();
+            int conflicts = 0;
+            for (Future<TicketStatus> result : results) {
+                try {
+                    winners.add(result.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(TicketStatusConflictException.class);
+                    conflicts++;
+                }
+            }
+
+            assertThat(winners).as("transitions from %s", from).hasSize(1);
+            assertThat(conflicts).isEqualTo(THREADS - 1);
+            assertThat(status()).isEqualTo(winners.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TicketStatus status() {
+        return ticketRepository.findStatusViewById(ticketId).orElseThrow().status();
+    }
+
+    private long resolvedCount() {
+        return ticketAnalyticsService.getResolutionStatsByPriority(1).stream()
+                .filter(stats -> stats.getGroup().equals(Priority.HIGH.name()))
+                .mapToLong(ResolutionStats::getCount)
+                .findFirst()
+                .orElse(0);
+    }
+}
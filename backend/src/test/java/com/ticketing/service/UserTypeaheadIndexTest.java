@@ -0,0 +1,62 @@
+package com.ticketing.service;
+
+import com.ticketing.cache.CacheTopic;
+import com.ticketing.dto.UserSuggestion;
+import com.ticketing.model.Role;
+import com.ticketing.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserTypeaheadIndexTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserTypeaheadIndex userTypeaheadIndex = new UserTypeaheadIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userTypeaheadIndex, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userTypeaheadIndex, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userTypeaheadIndex, "maxResults", 50);
+        userTypeaheadIndex.registerMetrics();
+        when(userRepository.streamSuggestions()).thenAnswer(invocation -> LongStream.rangeClosed(1, 2000)
+                .mapToObj(id -> new UserSuggestion(id, "user" + id, "user" + id + "@example.com",
+                        "First" + id, "Last" + id, Role.USER, true)));
+        userTypeaheadIndex.rebuild();
+    }
+
+    @Test
+    void searchesDuringRebuildSeeTheWholeIndex() throws Exception {
+        CompletableFuture<Void> rebuilds = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20; i++) {
+                userTypeaheadIndex.rebuild();
+            }
+        });
+
+        while (!rebuilds.isDone()) {
+            assertThat(userTypeaheadIndex.search("user1999", null, null, 10))
+                    .extracting(UserSuggestion::id).containsExactly(1999L);
+            assertThat(userTypeaheadIndex.search("ser199", null, null, 50))
+                    .extracting(UserSuggestion::id).contains(199L, 1999L);
+        }
+        rebuilds.get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void updatesReplaceTheUsersPreviousTerms() {
+        when(userRepository.findSuggestionById(5L)).thenReturn(Optional.of(
+                new UserSuggestion(5L, "renamed", "renamed@example.com", "Casey", "Jones", Role.SUPPORT_AGENT, true)));
+        userTypeaheadIndex.onInvalidation(CacheTopic.USER, "5");
+
+        assertThat(userTypeaheadIndex.search("renamed", null, null, 10)).extracting(UserSuggestion::id).containsExactly(5L);
+        assertThat(userTypeaheadIndex.search("user5", null, null, 50)).extracting(UserSuggestion::id).doesNotContain(5L);
+    }
+}
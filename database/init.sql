@@ -10,7 +10,7 @@
 -- Create extensions if needed
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 
--- The tables will be created automatically by Spring Boot JPA
+-- The tables are created by the backend's Flyway migrations on startup
 -- This script is for reference and manual setup if needed
 
 -- Sample data will be inserted by the application on startup
@@ -27,19 +27,16 @@ CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 -- ('user', 'user@ticketing.com', '$2a$10$encrypted_password', 'Regular', 'User', 'USER', NOW(), NOW());
 
 -- Sample tickets (will be created through the application)
--- INSERT INTO tickets (subject, description, status, priority, created_by_id, created_at, updated_at) VALUES
+-- INSERT INTO tickets (subject, description, status, priority, creator_id, created_at, updated_at) VALUES
 -- ('Login Issue', 'Cannot login to the system', 'OPEN', 'HIGH', 3, NOW(), NOW()),
 -- ('Feature Request', 'Need dark mode support', 'OPEN', 'MEDIUM', 3, NOW(), NOW());
 
--- Indexes for better performance
-CREATE INDEX IF NOT EXISTS idx_tickets_status ON tickets(status);
-CREATE INDEX IF NOT EXISTS idx_tickets_priority ON tickets(priority);
-CREATE INDEX IF NOT EXISTS idx_tickets_created_by ON tickets(created_by_id);
-CREATE INDEX IF NOT EXISTS idx_tickets_assigned_to ON tickets(assigned_to_id);
-CREATE INDEX IF NOT EXISTS idx_tickets_created_at ON tickets(created_at);
-CREATE INDEX IF NOT EXISTS idx_comments_ticket_id ON comments(ticket_id);
-CREATE INDEX IF NOT EXISTS idx_comments_created_at ON comments(created_at);
-CREATE INDEX IF NOT EXISTS idx_attachments_ticket_id ON attachments(ticket_id);
+-- For performance work, the backend's datagen profile loads millions of users, tickets,
+-- comments and attachments with COPY; see "Synthetic Dataset" in README.md.
+
+-- Tables and indexes are created by the Flyway migrations in
+-- backend/src/main/resources/db/migration when the backend starts.
+-- Tickets reference their users through creator_id and assignee_id.
 
 -- Grant permissions (adjust as needed for your setup)
 -- GRANT ALL PRIVILEGES ON DATABASE ticketing_db TO your_app_user;
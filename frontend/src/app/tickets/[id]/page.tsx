@@ -5,7 +5,7 @@ import { useParams, useRouter } from 'next/navigation'
 import DashboardLayout from '@/components/Layout/DashboardLayout'
 import { ticketService } from '@/services/ticketService'
 import { useAuth } from '@/contexts/AuthContext'
-import { Ticket, Comment, TicketStatus, Priority, Role } from '@/types'
+import { Ticket, Comment, Attachment, SlaStatus, TicketStatus, Priority, Role } from '@/types'
 import { toast } from 'react-toastify'
 
 export default function TicketDetailPage() {
@@ -14,6 +14,8 @@ export default function TicketDetailPage() {
   const { user } = useAuth()
   const [ticket, setTicket] = useState<Ticket | null>(null)
   const [comments, setComments] = useState<Comment[]>([])
+  const [attachments, setAttachments] = useState<Attachment[]>([])
+  const [sla, setSla] = useState<SlaStatus | null>(null)
   const [newComment, setNewComment] = useState('')
   const [isLoading, setIsLoading] = useState(true)
   const [isSubmittingComment, setIsSubmittingComment] = useState(false)
@@ -30,12 +32,14 @@ export default function TicketDetailPage() {
   const fetchTicketDetails = async () => {
     try {
       setIsLoading(true)
-      const [ticketData, commentsData] = await Promise.all([
-        ticketService.getTicketById(ticketId),
-        ticketService.getTicketComments(ticketId)
-      ])
-      setTicket(ticketData)
-      setComments(commentsData)
+      const detail = await ticketService.getTicketDetail(ticketId)
+      setTicket(detail.ticket)
+      setComments(detail.comments)
+      setAttachments(detail.attachments)
+      setSla(detail.sla)
+      if (detail.hasMoreComments) {
+        setComments(await ticketService.getTicketComments(ticketId))
+      }
     } catch (error: any) {
       toast.error('Failed to fetch ticket details')
       console.error('Error fetching ticket:', error)
@@ -67,11 +71,16 @@ export default function TicketDetailPage() {
 
     setIsUpdatingStatus(true)
     try {
-      const updatedTicket = await ticketService.updateTicketStatus(ticketId, newStatus)
+      const updatedTicket = await ticketService.updateTicketStatus(ticketId, newStatus, ticket.status)
       setTicket(updatedTicket)
       toast.success('Ticket status updated successfully')
     } catch (error: any) {
-      toast.error('Failed to update ticket status')
+      if (error.response?.status === 409) {
+        toast.error(error.response.data?.message || 'Ticket status was changed by someone else')
+        fetchTicketDetails()
+      } else {
+        toast.error('Failed to update ticket status')
+      }
     } finally {
       setIsUpdatingStatus(false)
     }
@@ -174,7 +183,7 @@ export default function TicketDetailPage() {
               </div>
             </div>
 
-            <div className="grid grid-cols-1 md:grid-cols-3 gap-4 pt-4 border-t border-gray-200">
+            <div className="grid grid-cols-1 md:grid-cols-4 gap-4 pt-4 border-t border-gray-200">
               <div>
                 <span className="text-sm font-medium text-gray-500">Created</span>
                 <p className="text-sm text-gray-900">{new Date(ticket.createdAt).toLocaleString()}</p>
@@ -183,6 +192,14 @@ export default function TicketDetailPage() {
                 <span className="text-sm font-medium text-gray-500">Last Updated</span>
                 <p className="text-sm text-gray-900">{new Date(ticket.updatedAt).toLocaleString()}</p>
               </div>
+              {sla && (
+                <div>
+                  <span className="text-sm font-medium text-gray-500">SLA ({sla.targetHours}h)</span>
+                  <p className={`text-sm ${sla.state === 'BREACHED' || sla.state === 'MISSED' ? 'text-red-600' : sla.state === 'AT_RISK' ? 'text-yellow-600' : 'text-gray-900'}`}>
+                    {sla.state.replace('_', ' ')} · due {new Date(sla.dueAt).toLocaleString()}
+                  </p>
+                </div>
+              )}
               <div>
                 <span className="text-sm font-medium text-gray-500">Assigned To</span>
                 <p className="text-sm text-gray-900">
@@ -196,6 +213,25 @@ export default function TicketDetailPage() {
           </div>
         </div>
 
+        {/* Attachments */}
+        {attachments.length > 0 && (
+          <div className="card">
+            <h3 className="text-lg font-semibold text-gray-900 mb-4">
+              Attachments ({attachments.length})
+            </h3>
+            <ul className="divide-y divide-gray-200">
+              {attachments.map((attachment) => (
+                <li key={attachment.id} className="py-2 flex items-center justify-between text-sm">
+                  <span className="text-gray-900">{attachment.fileName}</span>
+                  <span className="text-gray-500">
+                    {Math.ceil(attachment.fileSize / 1024)} KB · {new Date(attachment.uploadedAt).toLocaleString()}
+                  </span>
+                </li>
+              ))}
+            </ul>
+          </div>
+        )}
+
         {/* Status Update */}
         {canUpdateStatus() && (
           <div className="card">
@@ -73,13 +73,18 @@ export default function AllTicketsPage() {
     setFilters(prev => ({ ...prev, page: newPage }))
   }
 
-  const handleQuickStatusUpdate = async (ticketId: number, newStatus: TicketStatus) => {
+  const handleQuickStatusUpdate = async (ticketId: number, newStatus: TicketStatus, currentStatus: TicketStatus) => {
     try {
-      await ticketService.updateTicketStatus(ticketId, newStatus)
+      await ticketService.updateTicketStatus(ticketId, newStatus, currentStatus)
       toast.success('Status updated successfully')
       fetchTickets() // Refresh the list
     } catch (error: any) {
-      toast.error('Failed to update status')
+      if (error.response?.status === 409) {
+        toast.error(error.response.data?.message || 'Ticket status was changed by someone else')
+        fetchTickets()
+      } else {
+        toast.error('Failed to update status')
+      }
     }
   }
 
@@ -189,6 +194,7 @@ export default function AllTicketsPage() {
               >
                 <option value="createdAt">Sort by Created</option>
                 <option value="updatedAt">Sort by Updated</option>
+                <option value="lastActivityAt">Sort by Last Activity</option>
                 <option value="priority">Sort by Priority</option>
                 <option value="status">Sort by Status</option>
               </select>
@@ -285,7 +291,7 @@ export default function AllTicketsPage() {
                         </Link>
                         {ticket.status === TicketStatus.OPEN && (
                           <button
-                            onClick={() => handleQuickStatusUpdate(ticket.id, TicketStatus.IN_PROGRESS)}
+                            onClick={() => handleQuickStatusUpdate(ticket.id, TicketStatus.IN_PROGRESS, ticket.status)}
                             className="text-yellow-600 hover:text-yellow-900"
                           >
                             Start
@@ -293,7 +299,7 @@ export default function AllTicketsPage() {
                         )}
                         {ticket.status === TicketStatus.IN_PROGRESS && (
                           <button
-                            onClick={() => handleQuickStatusUpdate(ticket.id, TicketStatus.RESOLVED)}
+                            onClick={() => handleQuickStatusUpdate(ticket.id, TicketStatus.RESOLVED, ticket.status)}
                             className="text-green-600 hover:text-green-900"
                           >
                             Resolve
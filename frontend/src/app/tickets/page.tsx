@@ -195,6 +195,10 @@ export default function MyTicketsPage() {
                       <div className="flex items-center space-x-4 text-sm text-gray-500">
                         <span>Created: {new Date(ticket.createdAt).toLocaleDateString()}</span>
                         <span>Updated: {new Date(ticket.updatedAt).toLocaleDateString()}</span>
+                        <span>Comments: {ticket.commentCount ?? 0}</span>
+                        {ticket.lastActivityAt && (
+                          <span>Last activity: {new Date(ticket.lastActivityAt).toLocaleDateString()}</span>
+                        )}
                         {ticket.assignedTo && (
                           <span>Assigned to: {ticket.assignedTo.firstName} {ticket.assignedTo.lastName}</span>
                         )}
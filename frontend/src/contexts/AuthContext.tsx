@@ -49,7 +49,10 @@ export function AuthProvider({ children }: { children: ReactNode }) {
   const login = async (email: string, password: string) => {
     try {
       const response = await authService.login(email, password)
-      Cookies.set('token', response.token, { expires: 1 }) // 1 day
+      Cookies.set('token', response.token)
+      if (response.refreshToken) {
+        Cookies.set('refreshToken', response.refreshToken, { expires: 14 })
+      }
       setUser(response.user)
     } catch (error) {
       throw error
@@ -67,7 +70,10 @@ export function AuthProvider({ children }: { children: ReactNode }) {
   }
 
   const logout = () => {
+    const refreshToken = Cookies.get('refreshToken')
+    authService.logout(refreshToken).catch(() => undefined)
     Cookies.remove('token')
+    Cookies.remove('refreshToken')
     setUser(null)
   }
 
@@ -18,6 +18,31 @@ export interface UpdateUserRequest {
   role?: Role
 }
 
+export interface AgentRosterEntry {
+  id: number
+  username: string
+  email: string
+  firstName: string
+  lastName: string
+  openTickets: number
+  inProgressTickets: number
+  activeTickets: number
+  ratedTickets: number
+  averageRating: number | null
+  oldestOpenTicketCreatedAt: string | null
+  oldestOpenTicketAgeMinutes: number | null
+}
+
+export interface UserSuggestion {
+  id: number
+  username: string
+  email: string
+  firstName: string
+  lastName: string
+  role: Role
+  enabled: boolean
+}
+
 class AdminService {
   async getAllUsers(page = 0, size = 10): Promise<PaginatedResponse<User>> {
     return await apiService.get<PaginatedResponse<User>>('/admin/users', { page, size })
@@ -47,6 +72,14 @@ class AdminService {
     })
   }
 
+  async typeaheadUsers(query: string, options: { role?: Role; enabled?: boolean; limit?: number } = {}): Promise<UserSuggestion[]> {
+    return await apiService.get<UserSuggestion[]>('/users/typeahead', { q: query, ...options })
+  }
+
+  async getAgentRoster(): Promise<AgentRosterEntry[]> {
+    return await apiService.get<AgentRosterEntry[]>('/admin/support-agents/roster')
+  }
+
   async getSystemStats(): Promise<any> {
     return await apiService.get<any>('/admin/stats')
   }
@@ -5,6 +5,7 @@ const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/a
 
 class ApiService {
   private api: AxiosInstance
+  private refreshPromise: Promise<string> | null = null
 
   constructor() {
     this.api = axios.create({
@@ -33,10 +34,26 @@ class ApiService {
       (response: AxiosResponse) => {
         return response
       },
-      (error) => {
+      async (error) => {
+        const originalRequest = error.config
+        const refreshToken = Cookies.get('refreshToken')
+
+        // Access tokens are short-lived; try one silent refresh before sending the user to login
+        if (error.response?.status === 401 && refreshToken && originalRequest && !originalRequest._retry) {
+          originalRequest._retry = true
+          try {
+            const token = await this.refreshAccessToken(refreshToken)
+            originalRequest.headers.Authorization = `Bearer ${token}`
+            return this.api(originalRequest)
+          } catch (refreshError) {
+            // Fall through to the login redirect below
+          }
+        }
+
         if (error.response?.status === 401) {
           // Unauthorized - remove token and redirect to login
           Cookies.remove('token')
+          Cookies.remove('refreshToken')
           if (typeof window !== 'undefined') {
             window.location.href = '/auth/login'
           }
@@ -46,6 +63,23 @@ class ApiService {
     )
   }
 
+  private refreshAccessToken(refreshToken: string): Promise<string> {
+    // Concurrent 401s share a single refresh call, since each refresh token can only be used once
+    if (!this.refreshPromise) {
+      this.refreshPromise = axios
+        .post(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+        .then((response) => {
+          Cookies.set('token', response.data.token)
+          Cookies.set('refreshToken', response.data.refreshToken, { expires: 14 })
+          return response.data.token as string
+        })
+        .finally(() => {
+          this.refreshPromise = null
+        })
+    }
+    return this.refreshPromise
+  }
+
   async get<T>(url: string, params?: any): Promise<T> {
     const response = await this.api.get(url, { params })
     return response.data
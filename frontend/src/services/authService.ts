@@ -15,8 +15,8 @@ class AuthService {
     return await apiService.get<User>('/auth/me')
   }
 
-  async logout(): Promise<void> {
-    return await apiService.post<void>('/auth/logout')
+  async logout(refreshToken?: string): Promise<void> {
+    return await apiService.post<void>('/auth/logout', { refreshToken })
   }
 }
 
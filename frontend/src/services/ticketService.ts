@@ -1,6 +1,7 @@
 import { apiService } from './api'
 import { 
   Ticket, 
+  TicketDetail,
   TicketRequest, 
   CommentRequest, 
   Comment, 
@@ -26,8 +27,13 @@ class TicketService {
     return await apiService.get<Ticket>(`/tickets/${id}`)
   }
 
-  async updateTicketStatus(id: number, status: TicketStatus): Promise<Ticket> {
-    return await apiService.patch<Ticket>(`/tickets/${id}/status`, { status })
+  async getTicketDetail(id: number): Promise<TicketDetail> {
+    return await apiService.get<TicketDetail>(`/tickets/${id}/detail`)
+  }
+
+  // expectedStatus makes the update fail with 409 if someone else changed the status first
+  async updateTicketStatus(id: number, status: TicketStatus, expectedStatus?: TicketStatus): Promise<Ticket> {
+    return await apiService.patch<Ticket>(`/tickets/${id}/status`, { status, expectedStatus })
   }
 
   async assignTicket(id: number, assigneeId: number): Promise<Ticket> {
@@ -19,6 +19,9 @@ export interface Ticket {
   assignedTo?: User
   createdAt: string
   updatedAt: string
+  commentCount: number
+  lastActivityAt: string
+  lastCommenter?: User
   comments: Comment[]
   attachments: Attachment[]
 }
@@ -41,6 +44,23 @@ export interface Attachment {
   ticketId: number
 }
 
+export type SlaState = 'ON_TRACK' | 'AT_RISK' | 'BREACHED' | 'MET' | 'MISSED'
+
+export interface SlaStatus {
+  state: SlaState
+  targetHours: number
+  dueAt: string
+  minutesRemaining: number
+}
+
+export interface TicketDetail {
+  ticket: Ticket
+  comments: Comment[]
+  hasMoreComments: boolean
+  attachments: Attachment[]
+  sla: SlaStatus
+}
+
 export enum Role {
   USER = 'USER',
   SUPPORT_AGENT = 'SUPPORT_AGENT',
@@ -86,6 +106,7 @@ export interface CommentRequest {
 
 export interface AuthResponse {
   token: string
+  refreshToken?: string
   type: string
   user: User
 }
@@ -0,0 +1,54 @@
+package com.ticketing.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (in microseconds) and outcomes of one endpoint. A 409 is a lost race that the
+ * backend reported correctly, so it is counted as a conflict rather than an error. Status 0
+ * stands for a request that failed without a response, such as a timeout or refused connection.
+ */
+public class EndpointStats {
+    private final Recorder recorder = new Recorder(3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    public void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        requests.increment();
+        if (status == 409) {
+            conflicts.increment();
+        } else if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    public Snapshot snapshot() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return new Snapshot(recorder.getIntervalHistogram(), requests.sum(), errors.sum(), conflicts.sum(), counts);
+    }
+
+    public record Snapshot(Histogram histogram, long requests, long errors, long conflicts, Map<Integer, Long> statuses) {
+        public double errorRate() {
+            return requests > 0 ? (double) errors / requests : 0;
+        }
+
+        public double percentileMs(double percentile) {
+            return histogram.getTotalCount() > 0 ? histogram.getValueAtPercentile(percentile) / 1000.0 : 0;
+        }
+
+        public double maxMs() {
+            return histogram.getTotalCount() > 0 ? histogram.getMaxValue() / 1000.0 : 0;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ticketing.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.*;
+
+public class LoadReport {
+    private static final String ROW = "%-32s %9s %9s %8s %7s %9s %9s %9s %9s %9s%n";
+
+    private final Map<Operation, EndpointStats.Snapshot> endpoints;
+    private final EndpointStats.Snapshot total;
+    private final double seconds;
+
+    public LoadReport(Map<Operation, EndpointStats> stats, double seconds) {
+        this.endpoints = new EnumMap<>(Operation.class);
+        this.seconds = seconds;
+
+        Histogram histogram = new Histogram(3);
+        long requests = 0, errors = 0, conflicts = 0;
+        Map<Integer, Long> statuses = new TreeMap<>();
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats.Snapshot snapshot = entry.getValue().snapshot();
+            endpoints.put(entry.getKey(), snapshot);
+            histogram.add(snapshot.histogram());
+            requests += snapshot.requests();
+            errors += snapshot.errors();
+            conflicts += snapshot.conflicts();
+            snapshot.statuses().forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+        this.total = new EndpointStats.Snapshot(histogram, requests, errors, conflicts, statuses);
+    }
+
+    public EndpointStats.Snapshot endpoint(Operation operation) {
+        return endpoints.get(operation);
+    }
+
+    public EndpointStats.Snapshot total() {
+        return total;
+    }
+
+    public double throughput(EndpointStats.Snapshot snapshot) {
+        return seconds > 0 ? snapshot.requests() / seconds : 0;
+    }
+
+    public String table() {
+        StringBuilder table = new StringBuilder();
+        Formatter formatter = new Formatter(table, Locale.ROOT);
+        formatter.format(ROW, "Endpoint", "Requests", "Req/s", "Errors", "Error%", "Conflicts", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        endpoints.forEach((operation, snapshot) -> row(formatter, operation.endpoint(), snapshot));
+        row(formatter, "Total", total);
+
+        endpoints.forEach((operation, snapshot) -> {
+            if (snapshot.errors() > 0) {
+                StringJoiner codes = new StringJoiner(", ");
+                snapshot.statuses().forEach((status, count) -> {
+                    if (status < 200 || status >= 300) {
+                        codes.add((status == 0 ? "no response" : "HTTP " + status) + " x" + count);
+                    }
+                });
+                formatter.format("  %s: %s%n", operation.endpoint(), codes);
+            }
+        });
+        return table.toString();
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", seconds);
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        endpoints.forEach((operation, snapshot) -> byEndpoint.put(operation.endpoint(), summary(snapshot)));
+        report.put("endpoints", byEndpoint);
+        report.put("total", summary(total));
+        return report;
+    }
+
+    private Map<String, Object> summary(EndpointStats.Snapshot snapshot) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", snapshot.requests());
+        summary.put("throughput", throughput(snapshot));
+        summary.put("errors", snapshot.errors());
+        summary.put("errorRate", snapshot.errorRate());
+        summary.put("conflicts", snapshot.conflicts());
+        summary.put("p50Ms", snapshot.percentileMs(50));
+        summary.put("p99Ms", snapshot.percentileMs(99));
+        summary.put("p999Ms", snapshot.percentileMs(99.9));
+        summary.put("maxMs", snapshot.maxMs());
+        summary.put("statuses", snapshot.statuses());
+        return summary;
+    }
+
+    private void row(Formatter formatter, String name, EndpointStats.Snapshot snapshot) {
+        formatter.format(ROW, name, snapshot.requests(), String.format(Locale.ROOT, "%.1f", throughput(snapshot)),
+                snapshot.errors(), String.format(Locale.ROOT, "%.2f", snapshot.errorRate() * 100), snapshot.conflicts(),
+                ms(snapshot.percentileMs(50)), ms(snapshot.percentileMs(99)), ms(snapshot.percentileMs(99.9)), ms(snapshot.maxMs()));
+    }
+
+    private static String ms(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
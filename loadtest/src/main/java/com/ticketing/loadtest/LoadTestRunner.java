@@ -0,0 +1,291 @@
+package com.ticketing.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Signs up and signs in synthetic users and agents, seeds a few tickets per user, then drives the
+ * configured traffic mix for a warmup and a measured period and prints per-endpoint throughput,
+ * latency percentiles and error rates. With {@code app.loadtest.slo.enabled} it exits non-zero
+ * when an endpoint misses its latency or error budget.
+ *
+ * <p>By default every worker sends its next request as soon as the previous one returns. With
+ * {@code app.loadtest.rate} set, requests are scheduled at a fixed overall rate and latency is
+ * measured from the scheduled start, so a stalled backend shows up as queueing instead of
+ * silently lowering the offered load.
+ *
+ * <pre>java -jar target/ticketing-loadtest-0.0.1-SNAPSHOT.jar --app.loadtest.base-url=http://localhost:8080</pre>
+ */
+@Component
+public class LoadTestRunner implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.loadtest.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @Value("${app.loadtest.username-prefix:loadtest}")
+    private String usernamePrefix;
+
+    @Value("${app.loadtest.password:loadtest123}")
+    private String password;
+
+    @Value("${app.loadtest.users:200}")
+    private int users;
+
+    @Value("${app.loadtest.agents:20}")
+    private int agents;
+
+    @Value("${app.loadtest.tickets-per-user:2}")
+    private int ticketsPerUser;
+
+    @Value("${app.loadtest.agent-share:0.3}")
+    private double agentShare;
+
+    @Value("${app.loadtest.concurrency:32}")
+    private int concurrency;
+
+    @Value("${app.loadtest.rate:0}")
+    private double rate;
+
+    @Value("${app.loadtest.warmup:10s}")
+    private Duration warmup;
+
+    @Value("${app.loadtest.duration:60s}")
+    private Duration duration;
+
+    @Value("${app.loadtest.request-timeout:10s}")
+    private Duration requestTimeout;
+
+    @Value("${app.loadtest.pool-size:10000}")
+    private int poolSize;
+
+    @Value("${app.loadtest.seed:42}")
+    private long seed;
+
+    @Value("${app.loadtest.report-file:}")
+    private String reportFile;
+
+    @Value("${app.loadtest.slo.enabled:false}")
+    private boolean sloEnabled;
+
+    @Value("${app.loadtest.slo.min-throughput:0}")
+    private double minThroughput;
+
+    @Override
+    public void run(String... args) throws Exception {
+        TicketingClient client = new TicketingClient(baseUrl, objectMapper, requestTimeout);
+        Map<Operation, Integer> mix = mix();
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        mix.forEach((operation, weight) -> {
+            if (weight > 0) {
+                stats.put(operation, new EndpointStats());
+            }
+        });
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, threadFactory());
+        try {
+            long started = System.currentTimeMillis();
+            List<Session> userSessions = signIn(client, workers, "user", users, false);
+            List<Session> agentSessions = signIn(client, workers, "agent", agents, true);
+            logger.info("Signed in {} users and {} agents against {} in {} ms",
+                    userSessions.size(), agentSessions.size(), baseUrl, System.currentTimeMillis() - started);
+
+            SyntheticTraffic traffic = new SyntheticTraffic(client, new TicketPool(poolSize), userSessions, agentSessions,
+                    stats, mix, agentShare);
+            started = System.currentTimeMillis();
+            forEach(workers, userSessions, (session, random) -> traffic.seed(session, ticketsPerUser, random));
+            forEach(workers, agentSessions, (session, random) -> traffic.browseQueue(session, random));
+            logger.info("Seeded {} tickets in {} ms", userSessions.size() * ticketsPerUser, System.currentTimeMillis() - started);
+
+            drive(traffic, workers);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        LoadReport report = new LoadReport(stats, duration.toMillis() / 1000.0);
+        logger.info("Load test finished after {} s warmup and {} s measured, {} workers{}:{}{}",
+                warmup.toSeconds(), duration.toSeconds(), concurrency,
+                rate > 0 ? String.format(Locale.ROOT, " at %.0f req/s", rate) : "", System.lineSeparator(), report.table());
+
+        List<String> failures = sloEnabled ? checkSlo(report) : List.of();
+        failures.forEach(failure -> logger.error("SLO failed: {}", failure));
+        if (sloEnabled) {
+            logger.info("SLO check {}", failures.isEmpty() ? "passed" : "failed with " + failures.size() + " violations");
+        }
+        if (!reportFile.isBlank()) {
+            writeReport(report, failures);
+        }
+
+        int exitCode = failures.isEmpty() ? 0 : 1;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+
+    private void drive(SyntheticTraffic traffic, ExecutorService workers) throws InterruptedException, ExecutionException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long interval = rate > 0 ? (long) (concurrency * 1_000_000_000L / rate) : 0;
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int worker = 0; worker < concurrency; worker++) {
+            Random random = new Random(seed + worker);
+            // Spread paced workers over one interval so they do not fire in lockstep
+            long first = System.nanoTime() + (interval > 0 ? interval * worker / concurrency : 0);
+            running.add(workers.submit(() -> {
+                long next = first;
+                while (true) {
+                    long start;
+                    if (interval > 0) {
+                        LockSupport.parkNanos(next - System.nanoTime());
+                        start = next;
+                        next += interval;
+                    } else {
+                        start = System.nanoTime();
+                    }
+                    if (start >= end || Thread.currentThread().isInterrupted()) {
+                        return null;
+                    }
+                    traffic.step(random, start, start >= measureFrom);
+                }
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+    }
+
+    private List<Session> signIn(TicketingClient client, ExecutorService workers, String kind, int count, boolean agent)
+            throws InterruptedException, ExecutionException {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            sessions.add(new Session(usernamePrefix + "_" + kind + "_" + i, agent));
+        }
+        forEach(workers, sessions, (session, random) -> {
+            // Already registered on an earlier run is fine
+            client.send("POST", "/api/auth/signup", Map.of(
+                    "username", session.getUsername(),
+                    "email", session.getUsername() + "@loadtest.example.com",
+                    "password", password,
+                    "firstName", "Load",
+                    "lastName", agent ? "Agent" : "User",
+                    "role", agent ? "SUPPORT_AGENT" : "USER"), null);
+            client.signIn(session, password);
+        });
+        return sessions;
+    }
+
+    private void forEach(ExecutorService workers, List<Session> sessions, SessionTask task)
+            throws InterruptedException, ExecutionException {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < sessions.size(); i++) {
+            Session session = sessions.get(i);
+            Random random = new Random(seed ^ session.getUsername().hashCode());
+            futures.add(workers.submit(() -> {
+                task.run(session, random);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private Map<Operation, Integer> mix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, environment.getProperty("app.loadtest.mix." + operation.propertyKey(),
+                    Integer.class, operation.defaultWeight()));
+        }
+        return mix;
+    }
+
+    private List<String> checkSlo(LoadReport report) {
+        List<String> failures = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            EndpointStats.Snapshot snapshot = report.endpoint(operation);
+            if (snapshot == null) {
+                continue;
+            }
+            if (snapshot.requests() == 0) {
+                failures.add(operation.endpoint() + ": no requests were measured");
+                continue;
+            }
+            double p99 = slo(operation, "p99-ms");
+            double p999 = slo(operation, "p999-ms");
+            double maxErrorRate = slo(operation, "max-error-rate");
+            if (snapshot.percentileMs(99) > p99) {
+                failures.add(String.format(Locale.ROOT, "%s: p99 %.1f ms exceeds %.1f ms", operation.endpoint(), snapshot.percentileMs(99), p99));
+            }
+            if (snapshot.percentileMs(99.9) > p999) {
+                failures.add(String.format(Locale.ROOT, "%s: p999 %.1f ms exceeds %.1f ms", operation.endpoint(), snapshot.percentileMs(99.9), p999));
+            }
+            if (snapshot.errorRate() > maxErrorRate) {
+                failures.add(String.format(Locale.ROOT, "%s: error rate %.2f%% exceeds %.2f%%", operation.endpoint(),
+                        snapshot.errorRate() * 100, maxErrorRate * 100));
+            }
+        }
+        double throughput = report.throughput(report.total());
+        if (throughput < minThroughput) {
+            failures.add(String.format(Locale.ROOT, "throughput %.1f req/s is below %.1f req/s", throughput, minThroughput));
+        }
+        return failures;
+    }
+
+    // app.loadtest.slo.<operation>.<name>, falling back to app.loadtest.slo.<name>
+    private double slo(Operation operation, String name) {
+        Double fallback = environment.getRequiredProperty("app.loadtest.slo." + name, Double.class);
+        return environment.getProperty("app.loadtest.slo." + operation.propertyKey() + "." + name, Double.class, fallback);
+    }
+
+    private void writeReport(LoadReport report, List<String> failures) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("baseUrl", baseUrl);
+        json.put("concurrency", concurrency);
+        json.put("rate", rate);
+        json.putAll(report.toMap());
+        if (sloEnabled) {
+            json.put("sloPassed", failures.isEmpty());
+            json.put("sloFailures", failures);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(reportFile), json);
+        logger.info("Wrote report to {}", reportFile);
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    private interface SessionTask {
+        void run(Session session, Random random) throws Exception;
+    }
+}
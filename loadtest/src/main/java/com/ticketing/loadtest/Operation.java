@@ -0,0 +1,31 @@
+package com.ticketing.loadtest;
+
+public enum Operation {
+    CREATE_TICKET("POST /api/tickets", Actor.USER, 10),
+    LIST_TICKETS("GET /api/tickets", Actor.ANY, 30),
+    TICKET_DETAIL("GET /api/tickets/{id}/detail", Actor.ANY, 35),
+    ADD_COMMENT("POST /api/tickets/{id}/comments", Actor.ANY, 15),
+    ASSIGN_TICKET("PUT /api/tickets/{id}/assign", Actor.AGENT, 5),
+    CHANGE_STATUS("PUT /api/tickets/{id}/status", Actor.AGENT, 5);
+
+    public enum Actor { USER, AGENT, ANY }
+
+    private final String endpoint;
+    private final Actor actor;
+    private final int defaultWeight;
+
+    Operation(String endpoint, Actor actor, int defaultWeight) {
+        this.endpoint = endpoint;
+        this.actor = actor;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String endpoint() { return endpoint; }
+    public Actor actor() { return actor; }
+    public int defaultWeight() { return defaultWeight; }
+
+    // Key under app.loadtest.mix and app.loadtest.slo, e.g. "ticket-detail"
+    public String propertyKey() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
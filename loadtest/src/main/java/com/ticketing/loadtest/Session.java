@@ -0,0 +1,46 @@
+package com.ticketing.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A signed-in synthetic user or agent. Users remember the tickets they created, agents the
+ * tickets they picked up, since those are the only ones the backend lets them open.
+ */
+public class Session {
+    private final String username;
+    private final boolean agent;
+    private final List<Long> tickets = new ArrayList<>();
+    private Long id;
+    private volatile String token;
+    private volatile String refreshToken;
+
+    public Session(String username, boolean agent) {
+        this.username = username;
+        this.agent = agent;
+    }
+
+    public synchronized void addTicket(Long ticketId) {
+        if (!tickets.contains(ticketId)) {
+            tickets.add(ticketId);
+        }
+    }
+
+    public synchronized void removeTicket(Long ticketId) {
+        tickets.remove(ticketId);
+    }
+
+    public synchronized Long randomTicket(Random random) {
+        return tickets.isEmpty() ? null : tickets.get(random.nextInt(tickets.size()));
+    }
+
+    public String getUsername() { return username; }
+    public boolean isAgent() { return agent; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
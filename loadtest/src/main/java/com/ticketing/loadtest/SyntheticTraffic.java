@@ -0,0 +1,277 @@
+package com.ticketing.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * One step of user or agent behaviour per call. Users file tickets, browse their own list and
+ * follow up with comments. Agents browse the queue, pick up unassigned tickets (or hand their
+ * own to a colleague), and move the tickets they hold through their workflow. An operation
+ * without a target falls back to the one that creates it, e.g. an agent with no tickets picks one up.
+ */
+public class SyntheticTraffic {
+    private static final String[] SUBJECTS = {"Cannot log in", "Password reset not arriving", "Invoice missing",
+            "Dashboard is slow", "Export fails", "Email notifications stopped", "Access request", "Printer offline",
+            "VPN disconnects", "Billing question", "Report shows wrong totals", "Upload times out"};
+    private static final String[] WORDS = {"login", "password", "invoice", "dashboard", "export", "email", "access",
+            "printer", "vpn", "billing", "report", "upload", "error", "timeout", "browser", "mobile", "account"};
+    private static final String[] SENTENCES = {"It started after the latest update.", "Several colleagues see the same thing.",
+            "Restarting did not help.", "The error message mentions a timeout.", "It works from the mobile app.",
+            "This blocks the month-end close.", "We tried a different browser with the same result.",
+            "Screenshots are available on request.", "It happens roughly every other attempt.",
+            "Please treat this as a priority for our team."};
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "RESOLVED", "CLOSED"};
+    private static final String[] SORTS = {"createdAt", "updatedAt", "lastActivityAt", "priority"};
+    // Same moves as TicketStatus.canTransitionTo, the usual next step first
+    private static final Map<String, List<String>> TRANSITIONS = Map.of(
+            "OPEN", List.of("IN_PROGRESS", "RESOLVED", "CLOSED"),
+            "IN_PROGRESS", List.of("RESOLVED", "CLOSED"),
+            "RESOLVED", List.of("CLOSED", "IN_PROGRESS"),
+            "CLOSED", List.of("IN_PROGRESS"));
+
+    private final TicketingClient client;
+    private final TicketPool pool;
+    private final List<Session> users;
+    private final List<Session> agents;
+    private final Map<Operation, EndpointStats> stats;
+    private final double agentShare;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    public SyntheticTraffic(TicketingClient client, TicketPool pool, List<Session> users, List<Session> agents,
+                            Map<Operation, EndpointStats> stats, Map<Operation, Integer> mix, double agentShare) {
+        this.client = client;
+        this.pool = pool;
+        this.users = users;
+        this.agents = agents;
+        this.stats = stats;
+        this.agentShare = agentShare;
+
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            if (entry.getValue() > 0 && isPossible(entry.getKey())) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix has no operation the configured sessions can perform");
+        }
+        this.operations = weighted.toArray(Operation[]::new);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public void step(Random random, long startNanos, boolean measure) throws InterruptedException {
+        Operation operation = pick(random);
+        boolean asAgent = switch (operation.actor()) {
+            case USER -> false;
+            case AGENT -> true;
+            case ANY -> users.isEmpty() || (!agents.isEmpty() && random.nextDouble() < agentShare);
+        };
+        List<Session> sessions = asAgent ? agents : users;
+        execute(operation, sessions.get(random.nextInt(sessions.size())), random, startNanos, measure);
+    }
+
+    /**
+     * Gives every user a few tickets and fills the pool before measuring starts.
+     */
+    public void seed(Session user, int tickets, Random random) throws InterruptedException {
+        for (int i = 0; i < tickets; i++) {
+            createTicket(user, random, System.nanoTime(), false);
+        }
+    }
+
+    public void browseQueue(Session agent, Random random) throws InterruptedException {
+        listTickets(agent, random, System.nanoTime(), false);
+    }
+
+    private void execute(Operation operation, Session session, Random random, long startNanos, boolean measure)
+            throws InterruptedException {
+        switch (operation) {
+            case CREATE_TICKET -> createTicket(session, random, startNanos, measure);
+            case LIST_TICKETS -> listTickets(session, random, startNanos, measure);
+            case TICKET_DETAIL, ADD_COMMENT, CHANGE_STATUS -> {
+                Long ticketId = session.randomTicket(random);
+                if (ticketId == null) {
+                    execute(session.isAgent() ? Operation.ASSIGN_TICKET : Operation.CREATE_TICKET, session, random, startNanos, measure);
+                } else if (operation == Operation.TICKET_DETAIL) {
+                    viewTicket(session, ticketId, startNanos, measure);
+                } else if (operation == Operation.ADD_COMMENT) {
+                    addComment(session, ticketId, random, startNanos, measure);
+                } else {
+                    changeStatus(session, ticketId, random, startNanos, measure);
+                }
+            }
+            case ASSIGN_TICKET -> assignTicket(session, random, startNanos, measure);
+        }
+    }
+
+    private void createTicket(Session user, Random random, long startNanos, boolean measure) throws InterruptedException {
+        Map<String, Object> body = Map.of(
+                "subject", SUBJECTS[random.nextInt(SUBJECTS.length)] + " (" + Integer.toHexString(random.nextInt()) + ")",
+                "description", paragraph(random, 2 + random.nextInt(6)),
+                "priority", priority(random));
+        TicketingClient.Response response = call(Operation.CREATE_TICKET, "POST", "/api/tickets", body, user, startNanos, measure);
+        if (response != null && response.ok()) {
+            user.addTicket(pool.update(response.body()).getId());
+        }
+    }
+
+    private void listTickets(Session session, Random random, long startNanos, boolean measure) throws InterruptedException {
+        StringBuilder path = new StringBuilder("/api/tickets?page=").append(random.nextInt(10) < 8 ? 0 : random.nextInt(3))
+                .append("&size=").append(random.nextBoolean() ? 10 : 20)
+                .append("&sortBy=").append(SORTS[random.nextInt(SORTS.length)]);
+        if (session.isAgent() && random.nextInt(3) == 0) {
+            path.append("&status=OPEN");
+        } else if (random.nextBoolean()) {
+            path.append("&status=").append(STATUSES[random.nextInt(STATUSES.length)]);
+        }
+        if (random.nextInt(4) == 0) {
+            path.append("&priority=").append(priority(random));
+        }
+        if (session.isAgent() && random.nextInt(5) == 0) {
+            path.append("&assigneeId=").append(session.getId());
+        }
+        if (random.nextInt(5) == 0) {
+            path.append("&search=").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+
+        TicketingClient.Response response = call(Operation.LIST_TICKETS, "GET", path.toString(), null, session, startNanos, measure);
+        if (response != null && response.ok()) {
+            for (JsonNode ticket : response.body().path("content")) {
+                pool.update(ticket);
+            }
+        }
+    }
+
+    private void viewTicket(Session session, Long ticketId, long startNanos, boolean measure) throws InterruptedException {
+        TicketingClient.Response response = call(Operation.TICKET_DETAIL, "GET", "/api/tickets/" + ticketId + "/detail",
+                null, session, startNanos, measure);
+        if (response == null) {
+            return;
+        }
+        if (response.ok()) {
+            TicketPool.Known known = pool.update(response.body().path("ticket"));
+            if (session.isAgent() && !session.getId().equals(known.getAssigneeId())) {
+                session.removeTicket(ticketId);
+            }
+        } else if (response.status() == 404 || response.status() == 403) {
+            session.removeTicket(ticketId);
+        }
+    }
+
+    private void addComment(Session session, Long ticketId, Random random, long startNanos, boolean measure) throws InterruptedException {
+        call(Operation.ADD_COMMENT, "POST", "/api/tickets/" + ticketId + "/comments",
+                Map.of("content", paragraph(random, 1 + random.nextInt(3))), session, startNanos, measure);
+    }
+
+    private void assignTicket(Session agent, Random random, long startNanos, boolean measure) throws InterruptedException {
+        TicketPool.Known target = pool.randomUnassigned(random);
+        Session assignee = agent;
+        if (target == null) {
+            Long own = agent.randomTicket(random);
+            if (own == null || agents.size() < 2) {
+                listTickets(agent, random, startNanos, measure);
+                return;
+            }
+            // Hand over to a colleague
+            target = pool.get(own);
+            do {
+                assignee = agents.get(random.nextInt(agents.size()));
+            } while (assignee == agent);
+        }
+        if (target == null) {
+            return;
+        }
+
+        TicketingClient.Response response = call(Operation.ASSIGN_TICKET, "PUT", "/api/tickets/" + target.getId() + "/assign",
+                Map.of("assigneeId", assignee.getId()), agent, startNanos, measure);
+        if (response != null && response.ok()) {
+            pool.update(response.body());
+            agent.removeTicket(target.getId());
+            assignee.addTicket(target.getId());
+        }
+    }
+
+    private void changeStatus(Session agent, Long ticketId, Random random, long startNanos, boolean measure) throws InterruptedException {
+        TicketPool.Known known = pool.get(ticketId);
+        if (known == null || known.getStatus() == null) {
+            viewTicket(agent, ticketId, startNanos, measure);
+            return;
+        }
+        String current = known.getStatus();
+        List<String> next = TRANSITIONS.get(current);
+        String target = random.nextInt(5) < 4 ? next.get(0) : next.get(random.nextInt(next.size()));
+
+        TicketingClient.Response response = call(Operation.CHANGE_STATUS, "PUT", "/api/tickets/" + ticketId + "/status",
+                Map.of("status", target, "expectedStatus", current), agent, startNanos, measure);
+        if (response == null) {
+            return;
+        }
+        if (response.ok()) {
+            if ("CLOSED".equals(pool.update(response.body()).getStatus())) {
+                agent.removeTicket(ticketId);
+            }
+        } else if (response.status() == 409) {
+            // Someone else moved it first; reload it like the UI does
+            viewTicket(agent, ticketId, System.nanoTime(), measure);
+        }
+    }
+
+    private TicketingClient.Response call(Operation operation, String method, String path, Object body, Session session,
+                                          long startNanos, boolean measure) throws InterruptedException {
+        TicketingClient.Response response;
+        int status;
+        try {
+            response = client.send(method, path, body, session);
+            status = response.status();
+        } catch (IOException e) {
+            response = null;
+            status = 0;
+        }
+        if (measure) {
+            stats.get(operation).record(System.nanoTime() - startNanos, status);
+        }
+        return response;
+    }
+
+    private Operation pick(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private boolean isPossible(Operation operation) {
+        return switch (operation.actor()) {
+            case USER -> !users.isEmpty();
+            case AGENT -> !agents.isEmpty();
+            case ANY -> !users.isEmpty() || !agents.isEmpty();
+        };
+    }
+
+    // Most tickets are routine, a few are urgent
+    private static String priority(Random random) {
+        int value = random.nextInt(100);
+        return value < 30 ? "LOW" : value < 75 ? "MEDIUM" : value < 93 ? "HIGH" : "URGENT";
+    }
+
+    private static String paragraph(Random random, int sentences) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(SENTENCES[random.nextInt(SENTENCES.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.ticketing.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tickets the run has seen, with the last status and assignee the backend reported. Random picks
+ * come from a ring of the most recently seen tickets, so agents work the fresh part of the queue.
+ */
+public class TicketPool {
+    private final Map<Long, Known> tickets = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Known> recent;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public TicketPool(int capacity) {
+        this.recent = new AtomicReferenceArray<>(capacity);
+    }
+
+    public Known update(JsonNode ticket) {
+        Long id = ticket.path("id").asLong();
+        JsonNode assignee = ticket.path("assignee");
+        String status = ticket.path("status").asText(null);
+        Long assigneeId = assignee.isObject() ? assignee.path("id").asLong() : null;
+
+        Known known = tickets.computeIfAbsent(id, key -> {
+            Known added = new Known(key);
+            recent.set((int) (cursor.getAndIncrement() % recent.length()), added);
+            return added;
+        });
+        known.status = status;
+        known.assigneeId = assigneeId;
+        return known;
+    }
+
+    public Known get(Long id) {
+        return tickets.get(id);
+    }
+
+    public Known random(Random random) {
+        int size = (int) Math.min(cursor.get(), recent.length());
+        return size > 0 ? recent.get(random.nextInt(size)) : null;
+    }
+
+    public Known randomUnassigned(Random random) {
+        for (int attempt = 0; attempt < 8; attempt++) {
+            Known known = random(random);
+            if (known != null && known.assigneeId == null && !"CLOSED".equals(known.status)) {
+                return known;
+            }
+        }
+        return null;
+    }
+
+    public static class Known {
+        private final Long id;
+        private volatile String status;
+        private volatile Long assigneeId;
+
+        Known(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() { return id; }
+        public String getStatus() { return status; }
+        public Long getAssigneeId() { return assigneeId; }
+    }
+}
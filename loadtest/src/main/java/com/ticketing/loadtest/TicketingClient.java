@@ -0,0 +1,95 @@
+package com.ticketing.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Thin JSON client for the backend API. Access tokens expire during long runs, so a 401 on an
+ * authenticated call refreshes the session once and retries.
+ */
+public class TicketingClient {
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+
+    public TicketingClient(String baseUrl, ObjectMapper objectMapper, Duration requestTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Response send(String method, String path, Object body, Session session) throws IOException, InterruptedException {
+        String token = session != null ? session.getToken() : null;
+        Response response = exchange(method, path, body, token);
+        if (response.status() == 401 && session != null && refresh(session, token)) {
+            response = exchange(method, path, body, session.getToken());
+        }
+        return response;
+    }
+
+    public void signIn(Session session, String password) throws IOException, InterruptedException {
+        Response response = exchange("POST", "/api/auth/signin",
+                Map.of("username", session.getUsername(), "password", password), null);
+        if (!response.ok()) {
+            throw new IllegalStateException("Sign in failed for " + session.getUsername() + ": HTTP " + response.status());
+        }
+        session.setId(response.body().path("id").asLong());
+        session.setToken(response.body().path("token").asText());
+        session.setRefreshToken(response.body().path("refreshToken").asText());
+    }
+
+    // Refresh tokens rotate and a reused one revokes the whole family, so only one thread may refresh
+    private boolean refresh(Session session, String expiredToken) throws IOException, InterruptedException {
+        synchronized (session) {
+            if (!expiredToken.equals(session.getToken())) {
+                return true;
+            }
+            Response response = exchange("POST", "/api/auth/refresh", Map.of("refreshToken", session.getRefreshToken()), null);
+            if (!response.ok()) {
+                return false;
+            }
+            session.setToken(response.body().path("token").asText());
+            session.setRefreshToken(response.body().path("refreshToken").asText());
+            return true;
+        }
+    }
+
+    private Response exchange(String method, String path, Object body, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        int status = response.statusCode();
+        JsonNode json = status / 100 == 2 && response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+        return new Response(status, json);
+    }
+
+    public record Response(int status, JsonNode body) {
+        public boolean ok() {
+            return status / 100 == 2;
+        }
+    }
+}